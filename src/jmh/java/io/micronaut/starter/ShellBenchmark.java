@@ -0,0 +1,75 @@
+package io.micronaut.starter;
+
+import io.micronaut.context.BeanContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the latency of a create-app command that follows another one in the same JVM, as in
+ * the interactive shell, with the bean context shared between the commands or started for each
+ * one. The warmup iteration is the first command, which pays for class loading either way. The
+ * benchmark lives in this package because {@link MicronautStarter#execute(BeanContext, String[])}
+ * is package private. Projects are created in the working directory and deleted after each command.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(5)
+public class ShellBenchmark {
+
+    @Param({"true", "false"})
+    boolean shared;
+
+    private BeanContext beanContext;
+    private String prefix;
+    private int count;
+    private String appName;
+
+    @Setup
+    public void setup() {
+        prefix = "shell" + System.nanoTime() + "n";
+        if (shared) {
+            beanContext = BeanContext.run();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (beanContext != null) {
+            beanContext.close();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextName() {
+        appName = prefix + count++;
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteProject() throws IOException {
+        Path directory = new File(appName).toPath();
+        if (!Files.exists(directory)) {
+            throw new IllegalStateException("The command did not create " + directory);
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path: (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public int createApp() {
+        String[] args = {"create-app", "example.micronaut." + appName};
+        return shared ? MicronautStarter.execute(beanContext, args) : MicronautStarter.execute(args);
+    }
+}
@@ -0,0 +1,49 @@
+package io.micronaut.starter.benchmark;
+
+import io.micronaut.starter.OutputHandler;
+import io.micronaut.starter.template.Template;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Renders every template into a blackhole so that benchmarks measure generation without any I/O.
+ */
+class BlackholeOutputHandler implements OutputHandler {
+
+    private final BlackholeOutputStream outputStream;
+
+    BlackholeOutputHandler(Blackhole blackhole) {
+        this.outputStream = new BlackholeOutputStream(blackhole);
+    }
+
+    @Override
+    public void write(String path, Template contents) throws IOException {
+        contents.write(outputStream);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    static class BlackholeOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
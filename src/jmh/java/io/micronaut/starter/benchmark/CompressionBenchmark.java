@@ -0,0 +1,111 @@
+package io.micronaut.starter.benchmark;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.starter.generator.GenerationRequest;
+import io.micronaut.starter.generator.ProjectGenerator;
+import io.micronaut.starter.io.CompressionPolicy;
+import io.micronaut.starter.io.GeneratedProject;
+import io.micronaut.starter.io.InMemoryOutputHandler;
+import io.micronaut.starter.io.TarGzOutputHandler;
+import io.micronaut.starter.io.ZipOutputHandler;
+import io.micronaut.starter.options.BuildTool;
+import io.micronaut.starter.options.Language;
+import io.micronaut.starter.options.TestFramework;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Archives a project rendered up front with each compression policy. Besides throughput, the
+ * {@code archiveBytes} and {@code projectBytes} counters report the bytes written and archived,
+ * so their ratio is the compression ratio of the policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CompressionBenchmark {
+
+    @Param({"stored-binaries", "fastest", "best", "deflate-all"})
+    String policy;
+
+    @Param({"gradle", "maven"})
+    BuildTool build;
+
+    private GeneratedProject project;
+    private CompressionPolicy compressionPolicy;
+
+    @Setup
+    public void setup() throws IOException {
+        try (BeanContext beanContext = BeanContext.run()) {
+            InMemoryOutputHandler outputHandler = new InMemoryOutputHandler();
+            beanContext.getBean(ProjectGenerator.class).generate(
+                    new GenerationRequest("example.micronaut.foo", Language.java, build, TestFramework.junit, Collections.emptyList()), outputHandler);
+            project = outputHandler.getProject();
+        }
+        switch (policy) {
+            case "stored-binaries":
+                compressionPolicy = CompressionPolicy.DEFAULT;
+                break;
+            case "fastest":
+                compressionPolicy = CompressionPolicy.FASTEST;
+                break;
+            case "best":
+                compressionPolicy = new CompressionPolicy(Deflater.BEST_COMPRESSION, true);
+                break;
+            default:
+                compressionPolicy = new CompressionPolicy(Deflater.DEFAULT_COMPRESSION, false);
+        }
+    }
+
+    @Benchmark
+    public void zip(Sizes sizes) throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        project.writeTo(new ZipOutputHandler(outputStream, compressionPolicy, false));
+        sizes.record(project, outputStream);
+    }
+
+    @Benchmark
+    public void tarGz(Sizes sizes) throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        project.writeTo(new TarGzOutputHandler(outputStream, compressionPolicy.getTextLevel(), false));
+        sizes.record(project, outputStream);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+
+        public long archiveBytes;
+        public long projectBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            archiveBytes = 0;
+            projectBytes = 0;
+        }
+
+        void record(GeneratedProject project, CountingOutputStream outputStream) {
+            archiveBytes += outputStream.count;
+            projectBytes += project.getTotalSize();
+        }
+    }
+
+    static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
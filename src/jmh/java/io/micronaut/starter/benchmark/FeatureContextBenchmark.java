@@ -0,0 +1,44 @@
+package io.micronaut.starter.benchmark;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.starter.command.CreateAppCommand.CreateAppFeatures;
+import io.micronaut.starter.feature.Feature;
+import io.micronaut.starter.feature.FeatureContext;
+import io.micronaut.starter.options.BuildTool;
+import io.micronaut.starter.options.Language;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FeatureContextBenchmark {
+
+    @Param({"java", "groovy", "kotlin"})
+    Language lang;
+
+    private BeanContext beanContext;
+    private CreateAppFeatures createAppFeatures;
+    private List<Feature> selectedFeatures;
+
+    @Setup
+    public void setup() {
+        beanContext = BeanContext.run();
+        createAppFeatures = beanContext.getBean(CreateAppFeatures.class);
+        selectedFeatures = Fixtures.defaultFeatures(beanContext, lang);
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanContext.close();
+    }
+
+    @Benchmark
+    public List<Feature> processSelectedFeatures() {
+        FeatureContext featureContext = new FeatureContext(lang, null, BuildTool.gradle, createAppFeatures, selectedFeatures);
+        featureContext.processSelectedFeatures();
+        return featureContext.getFeatures();
+    }
+}
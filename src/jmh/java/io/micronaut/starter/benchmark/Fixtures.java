@@ -0,0 +1,38 @@
+package io.micronaut.starter.benchmark;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.starter.command.CreateAppCommand.CreateAppFeatures;
+import io.micronaut.starter.command.MicronautCommand;
+import io.micronaut.starter.feature.DefaultFeature;
+import io.micronaut.starter.feature.Feature;
+import io.micronaut.starter.feature.FeatureContext;
+import io.micronaut.starter.options.BuildTool;
+import io.micronaut.starter.options.Language;
+import io.micronaut.starter.options.TestFramework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * @return The selected features of a plain create-app, which are the default features
+     */
+    static List<Feature> defaultFeatures(BeanContext beanContext, Language language) {
+        List<Feature> features = new ArrayList<>();
+        beanContext.getBean(CreateAppFeatures.class).getDefaultFeatures()
+                .filter(f -> f.shouldApply(MicronautCommand.CREATE_APP, language, features))
+                .forEach(features::add);
+        return features;
+    }
+
+    static List<Feature> resolveFeatures(BeanContext beanContext, Language language, TestFramework testFramework, BuildTool buildTool) {
+        FeatureContext featureContext = new FeatureContext(language, testFramework, buildTool,
+                beanContext.getBean(CreateAppFeatures.class), defaultFeatures(beanContext, language));
+        featureContext.processSelectedFeatures();
+        return featureContext.getFeatures();
+    }
+}
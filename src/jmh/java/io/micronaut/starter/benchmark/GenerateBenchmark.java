@@ -0,0 +1,69 @@
+package io.micronaut.starter.benchmark;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.starter.generator.GenerationRequest;
+import io.micronaut.starter.generator.ProjectGenerator;
+import io.micronaut.starter.io.GeneratedProject;
+import io.micronaut.starter.io.InMemoryOutputHandler;
+import io.micronaut.starter.io.ZipOutputHandler;
+import io.micronaut.starter.options.BuildTool;
+import io.micronaut.starter.options.Language;
+import io.micronaut.starter.options.TestFramework;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete create-app for every language, build tool and test framework combination,
+ * into a blackhole, into an in-memory project and into a ZIP archive.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GenerateBenchmark {
+
+    @Param({"java", "groovy", "kotlin"})
+    Language lang;
+
+    @Param({"gradle", "maven"})
+    BuildTool build;
+
+    @Param({"junit", "spock"})
+    TestFramework test;
+
+    private BeanContext beanContext;
+    private ProjectGenerator projectGenerator;
+    private GenerationRequest request;
+
+    @Setup
+    public void setup() {
+        beanContext = BeanContext.run();
+        projectGenerator = beanContext.getBean(ProjectGenerator.class);
+        request = new GenerationRequest("example.micronaut.foo", lang, build, test, Collections.emptyList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanContext.close();
+    }
+
+    @Benchmark
+    public void generate(Blackhole blackhole) throws IOException {
+        projectGenerator.generate(request, new BlackholeOutputHandler(blackhole));
+    }
+
+    @Benchmark
+    public GeneratedProject generateInMemory() throws IOException {
+        InMemoryOutputHandler outputHandler = new InMemoryOutputHandler();
+        projectGenerator.generate(request, outputHandler);
+        return outputHandler.getProject();
+    }
+
+    @Benchmark
+    public void generateZip(Blackhole blackhole) throws IOException {
+        projectGenerator.generate(request, new ZipOutputHandler(new BlackholeOutputHandler.BlackholeOutputStream(blackhole)));
+    }
+}
@@ -0,0 +1,21 @@
+package io.micronaut.starter.benchmark;
+
+import io.micronaut.starter.Project;
+import io.micronaut.starter.util.NameUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NameUtilsBenchmark {
+
+    @Param({"foo", "my-service", "com.example.micronaut.MyDomainClass"})
+    String name;
+
+    @Benchmark
+    public Project parse() {
+        return NameUtils.parse(name);
+    }
+}
@@ -0,0 +1,103 @@
+package io.micronaut.starter.benchmark;
+
+import com.fizzed.rocker.RockerModel;
+import io.micronaut.context.BeanContext;
+import io.micronaut.starter.Project;
+import io.micronaut.starter.feature.Features;
+import io.micronaut.starter.feature.build.gitignore;
+import io.micronaut.starter.feature.build.gradle.templates.annotationProcessors;
+import io.micronaut.starter.feature.build.gradle.templates.buildGradle;
+import io.micronaut.starter.feature.build.gradle.templates.gradleProperties;
+import io.micronaut.starter.feature.build.gradle.templates.settingsGradle;
+import io.micronaut.starter.feature.build.gradle.templates.testFrameworks;
+import io.micronaut.starter.feature.build.maven.templates.pom;
+import io.micronaut.starter.feature.cli;
+import io.micronaut.starter.feature.graalvm.template.dockerBuildScript;
+import io.micronaut.starter.feature.graalvm.template.dockerfile;
+import io.micronaut.starter.feature.graalvm.template.nativeImageProperties;
+import io.micronaut.starter.feature.logging.template.log4j2;
+import io.micronaut.starter.feature.logging.template.logback;
+import io.micronaut.starter.options.BuildTool;
+import io.micronaut.starter.options.Language;
+import io.micronaut.starter.options.TestFramework;
+import io.micronaut.starter.template.RockerTemplate;
+import io.micronaut.starter.util.NameUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders each Rocker template on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TemplateBenchmark {
+
+    @Param({"cli", "javaApplication", "groovyApplication", "kotlinApplication", "buildGradle", "annotationProcessors",
+            "testFrameworks", "settingsGradle", "gradleProperties", "pom", "gitignore", "logback", "log4j2",
+            "dockerfile", "dockerBuildScript", "nativeImageProperties"})
+    String template;
+
+    private Project project;
+    private Features features;
+    private Map<String, String> properties;
+
+    @Setup
+    public void setup() {
+        try (BeanContext beanContext = BeanContext.run()) {
+            features = new Features(Fixtures.resolveFeatures(beanContext, Language.java, TestFramework.junit, BuildTool.gradle));
+        }
+        project = NameUtils.parse("example.micronaut.foo");
+        properties = new LinkedHashMap<>();
+        properties.put("micronautVersion", "2.0.0.M1");
+    }
+
+    @Benchmark
+    public void render(Blackhole blackhole) throws IOException {
+        new RockerTemplate(template, model()).write(new BlackholeOutputHandler.BlackholeOutputStream(blackhole));
+    }
+
+    private RockerModel model() {
+        switch (template) {
+            case "cli":
+                return cli.template(Language.java, TestFramework.junit, project, features);
+            case "javaApplication":
+                return io.micronaut.starter.feature.lang.java.application.template(project, features);
+            case "groovyApplication":
+                return io.micronaut.starter.feature.lang.groovy.application.template(project, features);
+            case "kotlinApplication":
+                return io.micronaut.starter.feature.lang.kotlin.application.template(project, features);
+            case "buildGradle":
+                return buildGradle.template(project, features);
+            case "annotationProcessors":
+                return annotationProcessors.template(features);
+            case "testFrameworks":
+                return testFrameworks.template(features.testFramework());
+            case "settingsGradle":
+                return settingsGradle.template(project);
+            case "gradleProperties":
+                return gradleProperties.template(properties);
+            case "pom":
+                return pom.template(project, features, properties);
+            case "gitignore":
+                return gitignore.template();
+            case "logback":
+                return logback.template(true);
+            case "log4j2":
+                return log4j2.template(project);
+            case "dockerfile":
+                return dockerfile.template(project, BuildTool.gradle);
+            case "dockerBuildScript":
+                return dockerBuildScript.template(project);
+            case "nativeImageProperties":
+                return nativeImageProperties.template(project, features);
+            default:
+                throw new IllegalArgumentException("Unknown template: " + template);
+        }
+    }
+}
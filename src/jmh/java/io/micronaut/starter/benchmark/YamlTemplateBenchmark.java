@@ -0,0 +1,31 @@
+package io.micronaut.starter.benchmark;
+
+import io.micronaut.starter.template.YamlTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class YamlTemplateBenchmark {
+
+    private Map<String, Object> configuration;
+
+    @Setup
+    public void setup() {
+        configuration = new LinkedHashMap<>();
+        configuration.put("micronaut.application.name", "foo");
+        configuration.put("datasources.default", Collections.emptyMap());
+    }
+
+    @Benchmark
+    public void write(Blackhole blackhole) throws IOException {
+        new YamlTemplate("application.yml", configuration).write(new BlackholeOutputHandler.BlackholeOutputStream(blackhole));
+    }
+}
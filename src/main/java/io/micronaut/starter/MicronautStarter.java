@@ -4,9 +4,11 @@ import io.micronaut.context.BeanContext;
 import io.micronaut.context.annotation.Prototype;
 import io.micronaut.starter.command.BaseCommand;
 import io.micronaut.starter.command.CreateAppCommand;
+import io.micronaut.starter.command.ServeCommand;
 import picocli.CommandLine;
 
 import javax.inject.Singleton;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.function.BiFunction;
 
@@ -22,7 +24,8 @@ import java.util.function.BiFunction;
         optionListHeading = "%n@|bold,underline Options:|@%n",
         commandListHeading = "%n@|bold,underline Commands:|@%n",
         subcommands = {
-                CreateAppCommand.class
+                CreateAppCommand.class,
+                ServeCommand.class
         })
 @Prototype
 public class MicronautStarter extends BaseCommand implements Callable<Integer> {
@@ -38,22 +41,32 @@ public class MicronautStarter extends BaseCommand implements Callable<Integer> {
 
     public static void main(String[] args) {
         if (args.length == 0) {
-            new InteractiveShell(createCommandLine(), MicronautStarter::execute, exceptionHandler).start();
+            try (BeanContext beanContext = BeanContext.run()) {
+                new InteractiveShell(createCommandLine(beanContext), arguments -> execute(beanContext, arguments), exceptionHandler).start();
+            }
         } else {
             System.exit(execute(args));
         }
     }
 
-    static CommandLine createCommandLine() {
+    static int execute(String[] args) {
         try (BeanContext beanContext = BeanContext.run()) {
-            return createCommandLine(beanContext);
+            return execute(beanContext, args);
         }
     }
 
-    static int execute(String[] args) {
-        try (BeanContext beanContext = BeanContext.run()) {
-            return createCommandLine(beanContext).execute(args);
-        }
+    /**
+     * Executes a command against an already running context. Singleton beans such as the
+     * features and validators are reused, whereas a new {@link CommandLine} is created for
+     * every invocation so that {@link Prototype} commands start from a fresh instance and
+     * no option state leaks from one command to the next.
+     *
+     * @param beanContext The running bean context
+     * @param args The command line arguments
+     * @return The exit code
+     */
+    static int execute(BeanContext beanContext, String[] args) {
+        return createCommandLine(beanContext).execute(args);
     }
 
     private static CommandLine createCommandLine(BeanContext beanContext) {
@@ -63,7 +76,8 @@ public class MicronautStarter extends BaseCommand implements Callable<Integer> {
 
             @Override
             public <K> K create(Class<K> cls) throws Exception {
-                return beanContext.findOrInstantiateBean(cls).orElse(defaultFactory.create(cls));
+                Optional<K> bean = beanContext.findOrInstantiateBean(cls);
+                return bean.isPresent() ? bean.get() : defaultFactory.create(cls);
             }
         });
         commandLine.setExecutionExceptionHandler((ex, commandLine1, parseResult) -> exceptionHandler.apply(ex, commandLine1));
@@ -3,6 +3,7 @@ package io.micronaut.starter.command;
 
 import io.micronaut.starter.Project;
 import io.micronaut.starter.feature.FeatureContext;
+import io.micronaut.starter.feature.FeaturePlan;
 import io.micronaut.starter.feature.Features;
 import io.micronaut.starter.options.BuildTool;
 import io.micronaut.starter.options.Language;
@@ -26,11 +27,15 @@ public class CommandContext {
     private final BuildTool buildTool;
 
     public CommandContext(FeatureContext featureContext, Project project) {
+        this(featureContext.toPlan(), project);
+    }
+
+    public CommandContext(FeaturePlan featurePlan, Project project) {
         this.project = project;
-        this.features = new Features(featureContext.getFeatures());
-        this.language = featureContext.getLanguage();
-        this.testFramework = featureContext.getTestFramework();
-        this.buildTool = featureContext.getBuildTool();
+        this.features = featurePlan.getFeatureNames();
+        this.language = featurePlan.getLanguage();
+        this.testFramework = featurePlan.getTestFramework();
+        this.buildTool = featurePlan.getBuildTool();
         String micronautVersion = VersionInfo.getVersion();
         if (buildTool == BuildTool.gradle) {
             projectProperties.put("micronautVersion", micronautVersion);
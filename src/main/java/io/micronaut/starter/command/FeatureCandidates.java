@@ -0,0 +1,47 @@
+package io.micronaut.starter.command;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.starter.command.CreateAppCommand.CreateAppFeatures;
+import io.micronaut.starter.feature.FeatureIndex;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The completion candidates of the create-app features. The names are read from the
+ * {@link FeatureIndex} generated at build time, so completion and help do not create any feature
+ * beans. Without an index, for example when running from an IDE, the features are looked up from
+ * a bean context instead.
+ */
+public class FeatureCandidates implements Iterable<String> {
+
+    private final ClassLoader classLoader;
+
+    public FeatureCandidates() {
+        this(FeatureCandidates.class.getClassLoader());
+    }
+
+    /**
+     * @param classLoader The class loader to read the index from
+     */
+    FeatureCandidates(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return FeatureIndex.load(classLoader)
+                .map(index -> index.getVisibleNames(MicronautCommand.CREATE_APP))
+                .orElseGet(FeatureCandidates::fromBeans)
+                .iterator();
+    }
+
+    private static List<String> fromBeans() {
+        try (BeanContext beanContext = BeanContext.run()) {
+            List<String> names = new ArrayList<>();
+            beanContext.getBean(CreateAppFeatures.class).forEach(names::add);
+            return names;
+        }
+    }
+}
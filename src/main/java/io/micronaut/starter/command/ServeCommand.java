@@ -0,0 +1,130 @@
+package io.micronaut.starter.command;
+
+import io.micronaut.context.annotation.Prototype;
+import io.micronaut.starter.OutputHandler;
+import io.micronaut.starter.Project;
+import io.micronaut.starter.feature.FeaturePlan;
+import io.micronaut.starter.generator.ArchiveCache;
+import io.micronaut.starter.generator.GenerationRequest;
+import io.micronaut.starter.generator.ProjectGenerator;
+import io.micronaut.starter.io.CompressionPolicy;
+import io.micronaut.starter.io.TarGzOutputHandler;
+import io.micronaut.starter.io.ZipOutputHandler;
+import io.micronaut.starter.options.BuildTool;
+import io.micronaut.starter.options.Language;
+import io.micronaut.starter.options.TestFramework;
+import io.micronaut.starter.server.ArchiveFormat;
+import io.micronaut.starter.server.GenerationServer;
+import io.micronaut.starter.server.ResolutionMetrics;
+import io.micronaut.starter.template.RenderBuffer;
+import picocli.CommandLine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+@CommandLine.Command(name = ServeCommand.NAME, description = "Starts an HTTP server that generates applications as ZIP or tar.gz downloads")
+@Prototype
+public class ServeCommand extends BaseCommand implements Callable<Integer> {
+
+    public static final String NAME = "serve";
+
+    private final ProjectGenerator projectGenerator;
+
+    @CommandLine.Option(names = {"-p", "--port"}, paramLabel = "PORT", defaultValue = "8080", description = "The port to listen on. Default: ${DEFAULT-VALUE}.")
+    int port;
+
+    @CommandLine.Option(names = {"--threads"}, paramLabel = "THREADS", description = "The number of request threads. Defaults to twice the number of processors.")
+    int threads = Runtime.getRuntime().availableProcessors() * 2;
+
+    @CommandLine.Option(names = {"--cache-size"}, paramLabel = "MEGABYTES", defaultValue = "64", description = "The memory used to cache generated archives, 0 disables caching. Default: ${DEFAULT-VALUE}.")
+    long cacheSize;
+
+    @CommandLine.Option(names = {"--cache-dir"}, paramLabel = "DIR", description = "A directory that generated archives are additionally cached in.")
+    Path cacheDir;
+
+    @CommandLine.Option(names = {"--compression-level"}, paramLabel = "LEVEL", defaultValue = "6", description = "The compression level of text in ZIP archives and of tar.gz archives, from 0 to 9. Requests with compression=fastest use level 1. Default: ${DEFAULT-VALUE}.")
+    int compressionLevel;
+
+    @CommandLine.Option(names = {"--parallel-compression"}, description = "Compress the entries of ZIP archives, and blocks of tar.gz archives, on all processors")
+    boolean parallelCompression;
+
+    private CompressionPolicy compressionPolicy;
+    private ArchiveCache archiveCache;
+    private final ResolutionMetrics resolutionMetrics = new ResolutionMetrics();
+
+    public ServeCommand(ProjectGenerator projectGenerator) {
+        this.projectGenerator = projectGenerator;
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        compressionPolicy = new CompressionPolicy(compressionLevel, true);
+        GenerationServer server = new GenerationServer(port, threads, this::generate);
+        resolutionMetrics.register(server);
+        server.addMetric("render.buffer.allocated.bytes", RenderBuffer::getAllocatedBytes);
+        server.addMetric("render.rendered.bytes", RenderBuffer::getRenderedBytes);
+        if (cacheSize > 0) {
+            archiveCache = new ArchiveCache(cacheSize * 1024 * 1024, cacheDir);
+            server.addMetric("archive.cache.hits", archiveCache::getHits);
+            server.addMetric("archive.cache.misses", archiveCache::getMisses);
+            server.addMetric("archive.cache.evictions", archiveCache::getEvictions);
+            server.addMetric("archive.cache.bytes", archiveCache::getSize);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        out("Listening on http://localhost:" + server.getPort() + GenerationServer.CREATE_APP_PATH + "{name}");
+        server.awaitStop();
+        return 0;
+    }
+
+    private void generate(Project project, Map<String, String> parameters, OutputStream outputStream) throws IOException {
+        Language lang = parameters.containsKey("lang") ? Language.valueOf(parameters.get("lang")) : null;
+        TestFramework test = parameters.containsKey("test") ? TestFramework.valueOf(parameters.get("test")) : null;
+        BuildTool build = parameters.containsKey("build") ? BuildTool.valueOf(parameters.get("build")) : BuildTool.gradle;
+        List<String> features = parameters.containsKey("features") ? Arrays.asList(parameters.get("features").split(",")) : Collections.emptyList();
+        ArchiveFormat format = ArchiveFormat.of(parameters);
+        CompressionPolicy compressionPolicy = compressionPolicy(parameters.get("compression"));
+        GenerationRequest request = new GenerationRequest(project, lang, build, test, features, resolutionMetrics);
+        if (archiveCache == null) {
+            projectGenerator.generate(request, outputHandler(format, compressionPolicy, outputStream));
+            return;
+        }
+
+        FeaturePlan featurePlan = projectGenerator.resolve(request);
+        String key = ArchiveCache.key(project, featurePlan) + "-" + compressionPolicy.getTextLevel() + format.getExtension();
+        byte[] archive = archiveCache.get(key).orElse(null);
+        if (archive == null) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+            projectGenerator.generate(project, featurePlan, outputHandler(format, compressionPolicy, buffer));
+            archive = buffer.toByteArray();
+            archiveCache.put(key, archive);
+        }
+        try (OutputStream os = outputStream) {
+            os.write(archive);
+        }
+    }
+
+    private CompressionPolicy compressionPolicy(String compression) {
+        if (compression == null) {
+            return compressionPolicy;
+        }
+        if ("fastest".equals(compression)) {
+            return CompressionPolicy.FASTEST;
+        }
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+    }
+
+    private OutputHandler outputHandler(ArchiveFormat format, CompressionPolicy compressionPolicy, OutputStream outputStream) throws IOException {
+        if (format == ArchiveFormat.tgz) {
+            return new TarGzOutputHandler(outputStream, compressionPolicy.getTextLevel(), parallelCompression);
+        }
+        return new ZipOutputHandler(outputStream, compressionPolicy, parallelCompression);
+    }
+}
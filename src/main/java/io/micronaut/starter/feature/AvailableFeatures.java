@@ -1,24 +1,56 @@
 package io.micronaut.starter.feature;
 
+import io.micronaut.starter.command.MicronautCommand;
+
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
+/**
+ * The features available to a command. Lookups go through the index entries, so a feature is
+ * only created once it is actually found, selected or applied by default.
+ */
 public abstract class AvailableFeatures implements Iterable<String> {
 
-    private final Map<String, Feature> features;
+    private final Map<String, FeatureIndex.Entry> entries;
+    private final FeatureIndex.Entry[] visibleEntries;
+    private final List<String> visibleNames;
+    private final FeatureRegistry registry;
 
     public AvailableFeatures(List<Feature> features) {
-        this.features = new LinkedHashMap<>(features.size());
-        for (Feature feature: features) {
-            this.features.put(feature.getName(), feature);
+        this(new FeatureRegistry(FeatureIndex.of(features), byClassName(features)), null);
+    }
+
+    /**
+     * @param registry The feature registry
+     * @param command The command the features must support, or null for all features
+     */
+    public AvailableFeatures(FeatureRegistry registry, MicronautCommand command) {
+        this.registry = registry;
+        Map<String, FeatureIndex.Entry> entryMap = new LinkedHashMap<>();
+        for (FeatureIndex.Entry entry: registry.getIndex().getEntries()) {
+            if (command == null || entry.supports(command)) {
+                entryMap.put(entry.getName(), entry);
+            }
+        }
+        this.entries = Collections.unmodifiableMap(entryMap);
+
+        // visibility is fixed, so it is evaluated once rather than on every lookup
+        List<FeatureIndex.Entry> visible = new ArrayList<>(entryMap.size());
+        List<String> names = new ArrayList<>(entryMap.size());
+        for (FeatureIndex.Entry entry: entryMap.values()) {
+            if (entry.isVisible()) {
+                visible.add(entry);
+                names.add(entry.getName());
+            }
         }
+        this.visibleEntries = visible.toArray(new FeatureIndex.Entry[0]);
+        this.visibleNames = Collections.unmodifiableList(names);
     }
 
     @Override
     public Iterator<String> iterator() {
-        return getFeatures()
-                .map(Feature::getName)
-                .iterator();
+        return visibleNames.iterator();
     }
 
     public Optional<Feature> findFeature(String name) {
@@ -26,17 +58,39 @@ public abstract class AvailableFeatures implements Iterable<String> {
     }
 
     public Optional<Feature> findFeature(String name, boolean ignoreVisibility) {
-        Feature feature = features.get(name);
-        if (feature != null) {
-            if (ignoreVisibility || feature.isVisible()) {
-                return Optional.of(feature);
+        FeatureIndex.Entry entry = entries.get(name);
+        if (entry != null) {
+            if (ignoreVisibility || entry.isVisible()) {
+                return Optional.of(registry.getFeature(entry));
             }
         }
         return Optional.empty();
     }
 
+    /**
+     * Creates every visible feature. Prefer {@link #findFeature(String)} or {@link #getDefaultFeatures()}.
+     *
+     * @return The visible features
+     */
     public Stream<Feature> getFeatures() {
-        Stream<Feature> stream = features.values().stream();
-        return stream.filter(Feature::isVisible);
+        return Arrays.stream(visibleEntries).map(registry::getFeature);
+    }
+
+    /**
+     * @return The visible features implementing {@link DefaultFeature}, without creating any other feature
+     */
+    public Stream<DefaultFeature> getDefaultFeatures() {
+        return Arrays.stream(visibleEntries)
+                .filter(FeatureIndex.Entry::isDefaultFeature)
+                .map(registry::getFeature)
+                .map(DefaultFeature.class::cast);
+    }
+
+    private static Function<String, Feature> byClassName(List<Feature> features) {
+        Map<String, Feature> byClassName = new HashMap<>(features.size());
+        for (Feature feature: features) {
+            byClassName.put(feature.getClass().getName(), feature);
+        }
+        return byClassName::get;
     }
 }
@@ -20,13 +20,24 @@ public class FeatureContext {
     private final List<Feature> features = new ArrayList<>();
     private List<Predicate<Feature>> exclusions = new ArrayList<>();
     private ListIterator<Feature> iterator;
+    private final FeatureResolutionListener listener;
 
     public FeatureContext(Language language,
                           TestFramework testFramework,
                           BuildTool buildTool,
                           AvailableFeatures availableFeatures,
                           List<Feature> selectedFeatures) {
+        this(language, testFramework, buildTool, availableFeatures, selectedFeatures, FeatureResolutionListener.NONE);
+    }
+
+    public FeatureContext(Language language,
+                          TestFramework testFramework,
+                          BuildTool buildTool,
+                          AvailableFeatures availableFeatures,
+                          List<Feature> selectedFeatures,
+                          FeatureResolutionListener listener) {
         this.selectedFeatures = selectedFeatures;
+        this.listener = listener;
         if (language == null) {
             language = Language.infer(selectedFeatures);
         }
@@ -56,7 +67,7 @@ public class FeatureContext {
         this.iterator = this.features.listIterator();
         while (iterator.hasNext()) {
             Feature feature = iterator.next();
-            System.out.println("processing " + feature.getName());
+            listener.featureProcessed(feature);
             feature.processSelectedFeatures(this);
         }
         this.iterator = null;
@@ -77,6 +88,13 @@ public class FeatureContext {
         }).collect(collectingAndThen(toList(), Collections::unmodifiableList));
     }
 
+    /**
+     * @return An immutable plan holding the features that remain after exclusions
+     */
+    public FeaturePlan toPlan() {
+        return new FeaturePlan(language, testFramework, buildTool, getFeatures());
+    }
+
     public Language getLanguage() {
         return language;
     }
@@ -104,7 +122,8 @@ public class FeatureContext {
         } else {
             features.add(feature);
         }
-        System.out.println("processing " + feature.getName());
+        listener.featureAdded(feature);
+        listener.featureProcessed(feature);
         feature.processSelectedFeatures(this);
     }
 
@@ -0,0 +1,256 @@
+package io.micronaut.starter.feature;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.starter.command.MicronautCommand;
+import io.micronaut.starter.options.Language;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the metadata of every feature: name, implementing class, visibility,
+ * order, whether it is a default feature, the commands it supports and what feature validation
+ * needs to know, namely its one-of groups and required language. The snapshot is written
+ * at build time to {@link #RESOURCE} by running {@link #main(String[])} against the compiled
+ * classes, so that it can be read at startup without creating any feature beans.
+ */
+public final class FeatureIndex {
+
+    public static final String RESOURCE = "META-INF/micronaut-starter/features";
+
+    private final Entry[] entries;
+
+    private FeatureIndex(Entry[] entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * @param features The features in the order they should be indexed
+     * @return The index of the given features
+     */
+    public static FeatureIndex of(List<Feature> features) {
+        Set<Class<?>> groups = new LinkedHashSet<>();
+        for (Feature feature: features) {
+            if (feature instanceof OneOfFeature) {
+                groups.add(((OneOfFeature) feature).getFeatureClass());
+            }
+        }
+        Entry[] entries = new Entry[features.size()];
+        for (int i = 0; i < entries.length; i++) {
+            Feature feature = features.get(i);
+            EnumSet<MicronautCommand> commands = EnumSet.noneOf(MicronautCommand.class);
+            for (MicronautCommand command: MicronautCommand.values()) {
+                if (feature.supports(command)) {
+                    commands.add(command);
+                }
+            }
+            Set<String> memberOf = new LinkedHashSet<>();
+            for (Class<?> group: groups) {
+                if (group.isAssignableFrom(feature.getClass())) {
+                    memberOf.add(group.getName());
+                }
+            }
+            String oneOf = feature instanceof OneOfFeature ? ((OneOfFeature) feature).getFeatureClass().getName() : null;
+            entries[i] = new Entry(feature.getName(), feature.getClass().getName(), feature.isVisible(),
+                    feature.getOrder(), feature instanceof DefaultFeature, commands,
+                    oneOf, memberOf, feature.getRequiredLanguage().orElse(null));
+        }
+        return new FeatureIndex(entries);
+    }
+
+    /**
+     * @param classLoader The class loader to load the index from
+     * @return The index generated at build time, if it is on the classpath
+     */
+    public static Optional<FeatureIndex> load(ClassLoader classLoader) {
+        InputStream inputStream = classLoader.getResourceAsStream(RESOURCE);
+        if (inputStream == null) {
+            return Optional.empty();
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            List<Entry> entries = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    entries.add(Entry.parse(line));
+                }
+            }
+            return Optional.of(new FeatureIndex(entries.toArray(new Entry[0])));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the index, one tab separated line per feature.
+     *
+     * @param writer The writer
+     * @throws IOException If the index could not be written
+     */
+    public void write(Writer writer) throws IOException {
+        for (Entry entry: entries) {
+            writer.write(entry.format());
+            writer.write('\n');
+        }
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    /**
+     * @param command The command
+     * @return The names of the visible features supporting the command, in index order
+     */
+    public List<String> getVisibleNames(MicronautCommand command) {
+        List<String> names = new ArrayList<>(entries.length);
+        for (Entry entry: entries) {
+            if (entry.isVisible() && entry.supports(command)) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Generates the index of all feature beans at build time.
+     *
+     * @param args The file to write the index to
+     * @throws IOException If the index could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args[0]);
+        Files.createDirectories(path.getParent());
+        try (BeanContext beanContext = BeanContext.run();
+             Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            of(new ArrayList<>(beanContext.getBeansOfType(Feature.class))).write(writer);
+        }
+    }
+
+    /**
+     * The metadata of a single feature.
+     */
+    public static final class Entry {
+
+        private final String name;
+        private final String className;
+        private final boolean visible;
+        private final int order;
+        private final boolean defaultFeature;
+        private final Set<MicronautCommand> commands;
+        private final String oneOf;
+        private final Set<String> groups;
+        private final Language requiredLanguage;
+
+        Entry(String name, String className, boolean visible, int order, boolean defaultFeature, Set<MicronautCommand> commands,
+              String oneOf, Set<String> groups, Language requiredLanguage) {
+            this.name = name;
+            this.className = className;
+            this.visible = visible;
+            this.order = order;
+            this.defaultFeature = defaultFeature;
+            this.commands = Collections.unmodifiableSet(commands);
+            this.oneOf = oneOf;
+            this.groups = Collections.unmodifiableSet(groups);
+            this.requiredLanguage = requiredLanguage;
+        }
+
+        static Entry parse(String line) {
+            String[] columns = line.split("\t", -1);
+            EnumSet<MicronautCommand> commands = EnumSet.noneOf(MicronautCommand.class);
+            for (String command: columns[5].split(",")) {
+                if (!command.isEmpty()) {
+                    commands.add(MicronautCommand.valueOf(command));
+                }
+            }
+            Set<String> groups = new LinkedHashSet<>();
+            for (String group: columns[7].split(",")) {
+                if (!group.isEmpty()) {
+                    groups.add(group);
+                }
+            }
+            return new Entry(columns[0], columns[1], Boolean.parseBoolean(columns[2]), Integer.parseInt(columns[3]),
+                    Boolean.parseBoolean(columns[4]), commands,
+                    columns[6].isEmpty() ? null : columns[6], groups, columns[8].isEmpty() ? null : Language.valueOf(columns[8]));
+        }
+
+        String format() {
+            StringBuilder builder = new StringBuilder()
+                    .append(name).append('\t')
+                    .append(className).append('\t')
+                    .append(visible).append('\t')
+                    .append(order).append('\t')
+                    .append(defaultFeature).append('\t');
+            String separator = "";
+            for (MicronautCommand command: commands) {
+                builder.append(separator).append(command.name());
+                separator = ",";
+            }
+            builder.append('\t').append(oneOf == null ? "" : oneOf).append('\t');
+            builder.append(String.join(",", groups)).append('\t');
+            builder.append(requiredLanguage == null ? "" : requiredLanguage.name());
+            return builder.toString();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public boolean isDefaultFeature() {
+            return defaultFeature;
+        }
+
+        public boolean supports(MicronautCommand command) {
+            return commands.contains(command);
+        }
+
+        /**
+         * @return The name of the class of the one-of group this feature declares, or null
+         */
+        public String getOneOf() {
+            return oneOf;
+        }
+
+        /**
+         * @return The names of the classes of the one-of groups this feature belongs to
+         */
+        public Set<String> getGroups() {
+            return groups;
+        }
+
+        /**
+         * @return The language this feature requires, or null
+         */
+        public Language getRequiredLanguage() {
+            return requiredLanguage;
+        }
+    }
+}
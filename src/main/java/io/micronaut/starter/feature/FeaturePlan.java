@@ -0,0 +1,52 @@
+package io.micronaut.starter.feature;
+
+import io.micronaut.starter.options.BuildTool;
+import io.micronaut.starter.options.Language;
+import io.micronaut.starter.options.TestFramework;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The immutable outcome of feature resolution: the language, test framework and build tool
+ * together with the resolved features in the order they are applied, with exclusions already
+ * removed. A plan holds no per-request state and can be reused by any number of generations,
+ * which share its {@link Features} view of the feature names.
+ */
+public final class FeaturePlan {
+
+    private final Language language;
+    private final TestFramework testFramework;
+    private final BuildTool buildTool;
+    private final List<Feature> features;
+    private final Features featureNames;
+
+    public FeaturePlan(Language language, TestFramework testFramework, BuildTool buildTool, List<Feature> features) {
+        this.language = language;
+        this.testFramework = testFramework;
+        this.buildTool = buildTool;
+        this.features = Collections.unmodifiableList(new ArrayList<>(features));
+        this.featureNames = new Features(this.features);
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public TestFramework getTestFramework() {
+        return testFramework;
+    }
+
+    public BuildTool getBuildTool() {
+        return buildTool;
+    }
+
+    public List<Feature> getFeatures() {
+        return features;
+    }
+
+    public Features getFeatureNames() {
+        return featureNames;
+    }
+}
@@ -0,0 +1,57 @@
+package io.micronaut.starter.feature;
+
+import io.micronaut.context.BeanContext;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Gives access to the metadata of all features through the {@link FeatureIndex} and creates the
+ * feature beans themselves only when they are first requested. When the index generated at build
+ * time is not on the classpath, the index is built from the feature beans instead.
+ */
+@Singleton
+public class FeatureRegistry {
+
+    private final FeatureIndex index;
+    private final Function<String, Feature> loader;
+    private final ConcurrentMap<String, Feature> features = new ConcurrentHashMap<>();
+
+    @Inject
+    public FeatureRegistry(BeanContext beanContext) {
+        this(FeatureIndex.load(FeatureRegistry.class.getClassLoader())
+                        .orElseGet(() -> FeatureIndex.of(new ArrayList<>(beanContext.getBeansOfType(Feature.class)))),
+                className -> {
+                    try {
+                        return (Feature) beanContext.getBean(Class.forName(className, false, FeatureRegistry.class.getClassLoader()));
+                    } catch (ClassNotFoundException e) {
+                        throw new IllegalStateException("The feature index refers to a missing class: " + className, e);
+                    }
+                });
+    }
+
+    /**
+     * @param index The feature index
+     * @param loader Creates the feature for the name of its class
+     */
+    public FeatureRegistry(FeatureIndex index, Function<String, Feature> loader) {
+        this.index = index;
+        this.loader = loader;
+    }
+
+    public FeatureIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @param entry The index entry
+     * @return The feature, created on first access
+     */
+    public Feature getFeature(FeatureIndex.Entry entry) {
+        return features.computeIfAbsent(entry.getClassName(), loader);
+    }
+}
@@ -0,0 +1,27 @@
+package io.micronaut.starter.feature;
+
+/**
+ * Observes feature resolution in {@link FeatureContext}. The default {@link #NONE} listener does
+ * nothing, so tracing costs nothing unless a listener is supplied.
+ */
+public interface FeatureResolutionListener {
+
+    FeatureResolutionListener NONE = new FeatureResolutionListener() { };
+
+    /**
+     * Called before a feature processes the selected features.
+     *
+     * @param feature The feature
+     */
+    default void featureProcessed(Feature feature) {
+    }
+
+    /**
+     * Called when a feature is added during resolution, for example the application feature
+     * added by a language feature.
+     *
+     * @param feature The added feature
+     */
+    default void featureAdded(Feature feature) {
+    }
+}
@@ -3,43 +3,86 @@ package io.micronaut.starter.feature;
 import io.micronaut.starter.feature.lang.LanguageFeature;
 import io.micronaut.starter.feature.test.TestFeature;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class Features extends ArrayList<String> {
+/**
+ * The immutable list of the names of the features of a project. Feature names are interned to
+ * integer ids so that {@link #contains(Object)} is a bit lookup, and the first feature
+ * implementing each interface is indexed up front, so a single instance can be shared by any
+ * number of concurrent renders.
+ */
+public final class Features extends AbstractList<String> {
 
-    private final List<Feature> featureList;
-    private ApplicationFeature applicationFeature;
-    private LanguageFeature languageFeature;
-    private TestFeature testFeature;
+    private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final String[] names;
+    private final BitSet ids = new BitSet();
+    private final Map<Class<?>, Feature> capabilities = new HashMap<>();
 
     public Features(List<Feature> featureList) {
-        super(featureList.stream().map(Feature::getName).collect(Collectors.toList()));
-        this.featureList = featureList;
-        for (Feature feature: featureList) {
-            if (applicationFeature == null && feature instanceof ApplicationFeature) {
-                applicationFeature = (ApplicationFeature) feature;
-            }
-            if (languageFeature == null && feature instanceof LanguageFeature) {
-                languageFeature = (LanguageFeature) feature;
-            }
-            if (testFeature == null && feature instanceof TestFeature) {
-                testFeature = (TestFeature) feature;
+        this.names = new String[featureList.size()];
+        for (int i = 0; i < names.length; i++) {
+            Feature feature = featureList.get(i);
+            names[i] = feature.getName();
+            ids.set(IDS.computeIfAbsent(names[i], name -> NEXT_ID.getAndIncrement()));
+            for (Class<?> type = feature.getClass(); type != null; type = type.getSuperclass()) {
+                index(type.getInterfaces(), feature);
             }
         }
     }
 
+    /**
+     * @param capability An interface implemented by features, for example {@link LanguageFeature}
+     * @param <T> The capability type
+     * @return The first feature implementing the interface, or null if there is none
+     */
+    public <T> T get(Class<T> capability) {
+        return capability.cast(capabilities.get(capability));
+    }
+
     public ApplicationFeature application() {
-        return applicationFeature;
+        return get(ApplicationFeature.class);
     }
 
     public LanguageFeature language() {
-        return languageFeature;
+        return get(LanguageFeature.class);
     }
 
     public TestFeature testFramework() {
-        return testFeature;
+        return get(TestFeature.class);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof String) {
+            Integer id = IDS.get(o);
+            return id != null && ids.get(id);
+        }
+        return false;
+    }
+
+    @Override
+    public String get(int index) {
+        return names[index];
     }
 
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    private void index(Class<?>[] interfaces, Feature feature) {
+        for (Class<?> type: interfaces) {
+            capabilities.putIfAbsent(type, feature);
+            index(type.getInterfaces(), feature);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package io.micronaut.starter.feature.build.gradle;
 
+import io.micronaut.starter.Project;
 import io.micronaut.starter.command.CommandContext;
 import io.micronaut.starter.feature.build.BuildFeature;
 import io.micronaut.starter.template.BinaryTemplate;
@@ -9,6 +10,7 @@ import io.micronaut.starter.feature.build.gitignore;
 import io.micronaut.starter.template.RockerTemplate;
 
 import javax.inject.Singleton;
+import java.util.Collections;
 
 @Singleton
 public class Gradle implements BuildFeature {
@@ -24,6 +26,7 @@ public class Gradle implements BuildFeature {
     @Override
     public void apply(CommandContext commandContext) {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Project project = commandContext.getProject();
 
         commandContext.addTemplate("gradleWrapperJar", new BinaryTemplate(WRAPPER_JAR, classLoader.getResource(WRAPPER_JAR)));
         commandContext.addTemplate("gradleWrapperProperties", new URLTemplate(WRAPPER_PROPS, classLoader.getResource(WRAPPER_PROPS)));
@@ -34,8 +37,8 @@ public class Gradle implements BuildFeature {
                 commandContext.getProject(),
                 commandContext.getFeatures()
         )));
-        commandContext.addTemplate("gitignore", new RockerTemplate(".gitignore", gitignore.template()));
+        commandContext.addTemplate("gitignore", new RockerTemplate(".gitignore", gitignore.template(), false, Collections.emptyList()));
         commandContext.addTemplate("projectProperties", new RockerTemplate("gradle.properties", gradleProperties.template(commandContext.getProjectProperties())));
-        commandContext.addTemplate("gradleSettings", new RockerTemplate("settings.gradle", settingsGradle.template(commandContext.getProject())));
+        commandContext.addTemplate("gradleSettings", new RockerTemplate("settings.gradle", settingsGradle.template(project), false, Collections.singletonList(project.getAppName())));
     }
 }
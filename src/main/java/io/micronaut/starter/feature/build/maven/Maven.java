@@ -9,6 +9,7 @@ import io.micronaut.starter.template.URLTemplate;
 import io.micronaut.starter.template.RockerTemplate;
 
 import javax.inject.Singleton;
+import java.util.Collections;
 
 @Singleton
 public class Maven implements BuildFeature {
@@ -37,6 +38,6 @@ public class Maven implements BuildFeature {
                 commandContext.getFeatures(),
                 commandContext.getProjectProperties()
         )));
-        commandContext.addTemplate("gitignore", new RockerTemplate(".gitignore", gitignore.template()));
+        commandContext.addTemplate("gitignore", new RockerTemplate(".gitignore", gitignore.template(), false, Collections.emptyList()));
     }
 }
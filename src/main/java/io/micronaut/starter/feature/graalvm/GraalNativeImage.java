@@ -1,5 +1,6 @@
 package io.micronaut.starter.feature.graalvm;
 
+import io.micronaut.starter.Project;
 import io.micronaut.starter.command.CommandContext;
 import io.micronaut.starter.feature.Feature;
 import io.micronaut.starter.feature.graalvm.template.dockerBuildScript;
@@ -8,6 +9,7 @@ import io.micronaut.starter.feature.graalvm.template.nativeImageProperties;
 import io.micronaut.starter.template.RockerTemplate;
 
 import javax.inject.Singleton;
+import java.util.Collections;
 
 @Singleton
 public class GraalNativeImage implements Feature {
@@ -19,8 +21,9 @@ public class GraalNativeImage implements Feature {
 
     @Override
     public void apply(CommandContext commandContext) {
+        Project project = commandContext.getProject();
         commandContext.addTemplate("dockerfile", new RockerTemplate("Dockerfile", dockerfile.template(commandContext.getProject(), commandContext.getBuildTool())));
-        commandContext.addTemplate("dockerBuildScript", new RockerTemplate("docker-build.sh", dockerBuildScript.template(commandContext.getProject()), true));
+        commandContext.addTemplate("dockerBuildScript", new RockerTemplate("docker-build.sh", dockerBuildScript.template(project), true, Collections.singletonList(project.getAppName())));
 
         commandContext.addTemplate("nativeImageProperties",
                 new RockerTemplate("src/main/resources/META-INF/native-image/{packageName}/{appName}-application/native-image.properties",
@@ -1,10 +1,12 @@
 package io.micronaut.starter.feature.logging;
 
+import io.micronaut.starter.Project;
 import io.micronaut.starter.command.CommandContext;
 import io.micronaut.starter.template.RockerTemplate;
 import io.micronaut.starter.feature.logging.template.log4j2;
 
 import javax.inject.Singleton;
+import java.util.Collections;
 
 @Singleton
 public class Log4j2 implements LoggingFeature {
@@ -16,6 +18,7 @@ public class Log4j2 implements LoggingFeature {
 
     @Override
     public void apply(CommandContext commandContext) {
-        commandContext.addTemplate("loggingConfig", new RockerTemplate("src/main/resources/log4j2.xml", log4j2.template(commandContext.getProject())));
+        Project project = commandContext.getProject();
+        commandContext.addTemplate("loggingConfig", new RockerTemplate("src/main/resources/log4j2.xml", log4j2.template(project), false, Collections.singletonList(project.getPackageName())));
     }
 }
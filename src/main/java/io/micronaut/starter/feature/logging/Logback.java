@@ -9,6 +9,7 @@ import io.micronaut.starter.options.Language;
 import io.micronaut.starter.template.RockerTemplate;
 
 import javax.inject.Singleton;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -32,6 +33,6 @@ public class Logback implements LoggingFeature, DefaultFeature {
         if (osName == null || !osName.toLowerCase(Locale.ENGLISH).contains("windows")) {
             jansi = true;
         }
-        commandContext.addTemplate("loggingConfig", new RockerTemplate("src/main/resources/logback.xml", logback.template(jansi)));
+        commandContext.addTemplate("loggingConfig", new RockerTemplate("src/main/resources/logback.xml", logback.template(jansi), false, Collections.singletonList(jansi)));
     }
 }
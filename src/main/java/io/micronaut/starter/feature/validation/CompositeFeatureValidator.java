@@ -2,24 +2,114 @@ package io.micronaut.starter.feature.validation;
 
 import io.micronaut.context.annotation.Primary;
 import io.micronaut.starter.feature.Feature;
+import io.micronaut.starter.feature.FeatureIndex;
+import io.micronaut.starter.feature.FeatureRegistry;
 import io.micronaut.starter.options.Language;
 
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Validates features against all other validators. For the known features it first runs a single
+ * pass over a metadata table built from the feature index, which allocates nothing when the features are valid.
+ * Only when that pass finds a problem, or meets a feature it does not know, are the individual
+ * validators run, so that the error messages are exactly theirs.
+ */
 @Primary
 @Singleton
 public class CompositeFeatureValidator implements FeatureValidator {
 
     private final List<FeatureValidator> featureValidators;
+    private final Map<String, FeatureMetadata> metadata;
 
-    public CompositeFeatureValidator(List<FeatureValidator> featureValidators) {
+    public CompositeFeatureValidator(List<FeatureValidator> featureValidators, FeatureRegistry featureRegistry) {
         this.featureValidators = featureValidators;
+        this.metadata = buildMetadata(featureRegistry.getIndex());
     }
 
     public void validate(Language language, List<Feature> features) {
-        for (FeatureValidator featureValidator: featureValidators) {
-            featureValidator.validate(language, features);
+        if (!isValid(language, features)) {
+            for (FeatureValidator featureValidator: featureValidators) {
+                featureValidator.validate(language, features);
+            }
+        }
+    }
+
+    private boolean isValid(Language language, List<Feature> features) {
+        if (metadata == null) {
+            return false;
+        }
+        long declared = 0;
+        long seen = 0;
+        long repeated = 0;
+        Language requiredLanguage = null;
+        for (int i = 0; i < features.size(); i++) {
+            FeatureMetadata featureMetadata = metadata.get(features.get(i).getClass().getName());
+            if (featureMetadata == null) {
+                return false;
+            }
+            declared |= featureMetadata.declaredGroup;
+            repeated |= seen & featureMetadata.memberGroups;
+            seen |= featureMetadata.memberGroups;
+            if (featureMetadata.requiredLanguage != null) {
+                if (requiredLanguage == null) {
+                    requiredLanguage = featureMetadata.requiredLanguage;
+                } else if (requiredLanguage != featureMetadata.requiredLanguage) {
+                    return false;
+                }
+            }
+        }
+        if ((declared & repeated) != 0) {
+            return false;
+        }
+        return language == null || requiredLanguage == null || requiredLanguage == language;
+    }
+
+    /**
+     * One-of groups are numbered and stored as bits, so a table is only built for up to 64 groups.
+     */
+    private static Map<String, FeatureMetadata> buildMetadata(FeatureIndex index) {
+        List<String> groups = new ArrayList<>();
+        for (FeatureIndex.Entry entry: index.getEntries()) {
+            if (entry.getOneOf() != null && !groups.contains(entry.getOneOf())) {
+                groups.add(entry.getOneOf());
+            }
+        }
+        if (groups.size() > Long.SIZE) {
+            return null;
+        }
+
+        Map<String, FeatureMetadata> metadata = new HashMap<>();
+        for (FeatureIndex.Entry entry: index.getEntries()) {
+            long memberGroups = 0;
+            for (String group: entry.getGroups()) {
+                int i = groups.indexOf(group);
+                if (i >= 0) {
+                    memberGroups |= 1L << i;
+                }
+            }
+            long declaredGroup = 0;
+            if (entry.getOneOf() != null) {
+                declaredGroup = 1L << groups.indexOf(entry.getOneOf());
+            }
+            metadata.put(entry.getClassName(), new FeatureMetadata(memberGroups, declaredGroup, entry.getRequiredLanguage()));
+        }
+        return metadata;
+    }
+
+    private static class FeatureMetadata {
+
+        private final long memberGroups;
+        private final long declaredGroup;
+        private final Language requiredLanguage;
+
+        FeatureMetadata(long memberGroups, long declaredGroup, Language requiredLanguage) {
+            this.memberGroups = memberGroups;
+            this.declaredGroup = declaredGroup;
+            this.requiredLanguage = requiredLanguage;
         }
     }
 }
@@ -0,0 +1,198 @@
+package io.micronaut.starter.generator;
+
+import io.micronaut.starter.Project;
+import io.micronaut.starter.feature.Feature;
+import io.micronaut.starter.feature.FeaturePlan;
+import io.micronaut.starter.util.VersionInfo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A content addressed cache of finished project archives. Archives are keyed by a hash of
+ * everything that influences the generated output, see {@link #key(Project, FeaturePlan)}.
+ *
+ * <p>Archives are kept in memory in least recently used order up to a total number of bytes.
+ * When a directory is given, archives are also written to disk and survive both eviction from
+ * memory and restarts.</p>
+ */
+public class ArchiveCache {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long maxBytes;
+    private final Path directory;
+    private final Map<String, byte[]> archives = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxBytes The maximum number of archive bytes kept in memory
+     * @param directory The directory of the on-disk tier, or null to keep archives in memory only
+     */
+    public ArchiveCache(long maxBytes, Path directory) {
+        this.maxBytes = maxBytes;
+        this.directory = directory;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Computes the cache key of a resolved project. The key covers the project properties, the
+     * language, build tool and test framework, the names of the resolved features in the order
+     * they were resolved in, which is the order they are applied and listed in, and the Micronaut
+     * and JDK versions written into build files.
+     *
+     * @param project The project
+     * @param featurePlan The resolved features
+     * @return The hex encoded SHA-256 key
+     */
+    public static String key(Project project, FeaturePlan featurePlan) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (Map.Entry<String, String> property: new TreeMap<>(project.getProperties()).entrySet()) {
+            update(digest, property.getKey());
+            update(digest, property.getValue());
+        }
+        update(digest, featurePlan.getLanguage().name());
+        update(digest, featurePlan.getBuildTool().name());
+        update(digest, String.valueOf(featurePlan.getTestFramework()));
+        for (Feature feature: featurePlan.getFeatures()) {
+            update(digest, feature.getName());
+        }
+        update(digest, VersionInfo.getVersion());
+        update(digest, VersionInfo.getJdkVersion());
+
+        byte[] hash = digest.digest();
+        char[] chars = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            chars[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param key The cache key
+     * @return The cached archive, which must not be modified
+     */
+    public Optional<byte[]> get(String key) {
+        byte[] archive;
+        synchronized (archives) {
+            archive = archives.get(key);
+        }
+        if (archive == null && directory != null) {
+            archive = read(key);
+            if (archive != null) {
+                store(key, archive);
+            }
+        }
+        if (archive == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return Optional.ofNullable(archive);
+    }
+
+    /**
+     * @param key The cache key
+     * @param archive The finished archive, which must not be modified afterwards
+     */
+    public void put(String key, byte[] archive) {
+        store(key, archive);
+        if (directory != null) {
+            write(key, archive);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return The number of archive bytes held in memory
+     */
+    public long getSize() {
+        synchronized (archives) {
+            return size;
+        }
+    }
+
+    private void store(String key, byte[] archive) {
+        if (archive.length > maxBytes) {
+            return;
+        }
+        synchronized (archives) {
+            byte[] previous = archives.put(key, archive);
+            size += archive.length - (previous == null ? 0 : previous.length);
+            Iterator<byte[]> iterator = archives.values().iterator();
+            while (size > maxBytes) {
+                size -= iterator.next().length;
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private byte[] read(String key) {
+        try {
+            return Files.readAllBytes(directory.resolve(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String key, byte[] archive) {
+        try {
+            // written under a unique name first so that readers never see a partial archive
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, archive);
+            Files.move(temp, directory.resolve(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        // length prefixed so that no two different inputs produce the same byte sequence
+        digest.update(new byte[] {(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+}
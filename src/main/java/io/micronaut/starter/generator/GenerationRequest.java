@@ -0,0 +1,76 @@
+package io.micronaut.starter.generator;
+
+import io.micronaut.starter.Project;
+import io.micronaut.starter.feature.FeatureResolutionListener;
+import io.micronaut.starter.options.BuildTool;
+import io.micronaut.starter.options.Language;
+import io.micronaut.starter.options.TestFramework;
+import io.micronaut.starter.util.NameUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The immutable input of a single {@link ProjectGenerator} run. The language, build tool and
+ * test framework may be null, in which case they are inferred from the selected features.
+ */
+public final class GenerationRequest {
+
+    private final Project project;
+    private final Language language;
+    private final BuildTool buildTool;
+    private final TestFramework testFramework;
+    private final List<String> features;
+    private final FeatureResolutionListener listener;
+
+    public GenerationRequest(String name, Language language, BuildTool buildTool, TestFramework testFramework, List<String> features) {
+        this(NameUtils.parse(name), language, buildTool, testFramework, features);
+    }
+
+    public GenerationRequest(Project project, Language language, BuildTool buildTool, TestFramework testFramework, List<String> features) {
+        this(project, language, buildTool, testFramework, features, FeatureResolutionListener.NONE);
+    }
+
+    /**
+     * @param project The project
+     * @param language The language, or null
+     * @param buildTool The build tool, or null
+     * @param testFramework The test framework, or null
+     * @param features The names of the selected features
+     * @param listener Notified of each resolution step. A plan reused from an earlier, equal
+     *                 request replays the resolution events recorded when it was resolved
+     */
+    public GenerationRequest(Project project, Language language, BuildTool buildTool, TestFramework testFramework, List<String> features, FeatureResolutionListener listener) {
+        this.project = project;
+        this.language = language;
+        this.buildTool = buildTool;
+        this.testFramework = testFramework;
+        this.features = features == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(features));
+        this.listener = listener;
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public BuildTool getBuildTool() {
+        return buildTool;
+    }
+
+    public TestFramework getTestFramework() {
+        return testFramework;
+    }
+
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    public FeatureResolutionListener getListener() {
+        return listener;
+    }
+}
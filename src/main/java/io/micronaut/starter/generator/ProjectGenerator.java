@@ -0,0 +1,234 @@
+package io.micronaut.starter.generator;
+
+import io.micronaut.starter.OutputHandler;
+import io.micronaut.starter.Project;
+import io.micronaut.starter.command.CommandContext;
+import io.micronaut.starter.command.CreateAppCommand.CreateAppFeatures;
+import io.micronaut.starter.command.MicronautCommand;
+import io.micronaut.starter.feature.Feature;
+import io.micronaut.starter.feature.FeatureContext;
+import io.micronaut.starter.feature.FeaturePlan;
+import io.micronaut.starter.feature.FeatureResolutionListener;
+import io.micronaut.starter.feature.cli;
+import io.micronaut.starter.feature.validation.FeatureValidator;
+import io.micronaut.starter.io.AsyncIO;
+import io.micronaut.starter.template.RenderCache;
+import io.micronaut.starter.template.RockerTemplate;
+import io.micronaut.starter.template.Template;
+import io.micronaut.starter.template.URLTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates projects from a {@link GenerationRequest}. The generator holds no per-request state,
+ * so a single instance can be used by any number of threads at the same time.
+ *
+ * <p>Templates are rendered in parallel into memory on a pool bounded by the number of
+ * processors, then handed to the {@link OutputHandler} in the order they were added, so the
+ * output is identical to a sequential render.</p>
+ */
+@Singleton
+public class ProjectGenerator {
+
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{(.+?)\\}");
+    private static final int MAX_PLANS = 256;
+
+    private final CreateAppFeatures createAppFeatures;
+    private final FeatureValidator featureValidator;
+    private final ForkJoinPool renderPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final Map<List<Object>, ResolvedPlan> plans = new LinkedHashMap<List<Object>, ResolvedPlan>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, ResolvedPlan> eldest) {
+            return size() > MAX_PLANS;
+        }
+    };
+
+    public ProjectGenerator(CreateAppFeatures createAppFeatures, FeatureValidator featureValidator) {
+        this.createAppFeatures = createAppFeatures;
+        this.featureValidator = featureValidator;
+    }
+
+    public void generate(GenerationRequest request, OutputHandler outputHandler) throws IOException {
+        generate(request.getProject(), resolve(request), outputHandler);
+    }
+
+    /**
+     * Resolves and validates the features of a request without rendering anything. Plans are
+     * memoized by language, test framework, build tool and the ordered selected features, so
+     * repeated requests skip resolution entirely. The listener of a request answered from the
+     * cache is sent the events recorded when the plan was resolved.
+     *
+     * @param request The generation request
+     * @return The resolved features
+     */
+    public FeaturePlan resolve(GenerationRequest request) {
+        List<Object> key = Arrays.asList(request.getLanguage(), request.getTestFramework(), request.getBuildTool(), request.getFeatures());
+        ResolvedPlan resolvedPlan;
+        synchronized (plans) {
+            resolvedPlan = plans.get(key);
+        }
+        if (resolvedPlan == null) {
+            List<Consumer<FeatureResolutionListener>> events = new ArrayList<>();
+            FeaturePlan featurePlan = createPlan(request, new RecordingListener(request.getListener(), events));
+            resolvedPlan = new ResolvedPlan(featurePlan, events);
+            synchronized (plans) {
+                plans.put(key, resolvedPlan);
+            }
+        } else if (request.getListener() != FeatureResolutionListener.NONE) {
+            for (Consumer<FeatureResolutionListener> event: resolvedPlan.events) {
+                event.accept(request.getListener());
+            }
+        }
+        return resolvedPlan.featurePlan;
+    }
+
+    /**
+     * Renders a project from features previously resolved with {@link #resolve(GenerationRequest)}.
+     *
+     * @param project The project
+     * @param featurePlan The resolved features
+     * @param outputHandler The output handler, closed once all files have been written
+     * @throws IOException If the output could not be written
+     */
+    public void generate(Project project, FeaturePlan featurePlan, OutputHandler outputHandler) throws IOException {
+        CommandContext commandContext = new CommandContext(featurePlan, project);
+        commandContext.getConfiguration().put("micronaut.application.name", project.getAppName());
+        commandContext.addTemplate("micronautCli",
+                new RockerTemplate("micronaut-cli.yml",
+                        cli.template(commandContext.getLanguage(),
+                                commandContext.getTestFramework(),
+                                commandContext.getProject(),
+                                commandContext.getFeatures())));
+
+        for (Feature feature: featurePlan.getFeatures()) {
+            feature.apply(commandContext);
+        }
+
+        Map<String, String> replacements = project.getProperties();
+        Collection<Template> templates = commandContext.getTemplates().values();
+        List<String> paths = new ArrayList<>(templates.size());
+        List<CompletableFuture<Template>> rendered = new ArrayList<>(templates.size());
+        for (Template template: templates) {
+            paths.add(replaceVariables(template.getPath(), replacements));
+            rendered.add(render(template));
+        }
+
+        // written in declaration order regardless of which render finishes first
+        for (int i = 0; i < paths.size(); i++) {
+            outputHandler.write(paths.get(i), AsyncIO.join(rendered.get(i)));
+        }
+
+        outputHandler.close();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderPool.shutdown();
+    }
+
+    private FeaturePlan createPlan(GenerationRequest request, FeatureResolutionListener listener) {
+        final List<Feature> features = new ArrayList<>(8);
+        for (String name: request.getFeatures()) {
+            Feature feature = createAppFeatures.findFeature(name).orElse(null);
+            if (feature != null) {
+                features.add(feature);
+            } else {
+                throw new IllegalArgumentException("The requested feature does not exist: " + name);
+            }
+        }
+
+        createAppFeatures.getDefaultFeatures()
+                .filter(f -> f.shouldApply(MicronautCommand.CREATE_APP, request.getLanguage(), features))
+                .forEach(features::add);
+
+        featureValidator.validate(request.getLanguage(), features);
+
+        FeatureContext featureContext = new FeatureContext(request.getLanguage(), request.getTestFramework(), request.getBuildTool(), createAppFeatures, features, listener);
+
+        featureContext.processSelectedFeatures();
+
+        FeaturePlan featurePlan = featureContext.toPlan();
+
+        featureValidator.validate(request.getLanguage(), featurePlan.getFeatures());
+
+        return featurePlan;
+    }
+
+    /**
+     * Rendered templates are produced into memory on the render pool. Static classpath resources
+     * involve no rendering work and are handed to the output handler as they are.
+     */
+    private CompletableFuture<Template> render(Template template) {
+        if (template instanceof URLTemplate) {
+            return CompletableFuture.completedFuture(template);
+        }
+        return AsyncIO.supplyAsync(() -> RenderCache.getInstance().render(template), renderPool);
+    }
+
+    private String replaceVariables(String path, Map<String, String> replacements) {
+        Matcher matcher = VARIABLE_PATTERN.matcher(path);
+        StringBuilder builder = new StringBuilder();
+        int i = 0;
+        while (matcher.find()) {
+            String replacement = replacements.get(matcher.group(1));
+            builder.append(path, i, matcher.start());
+            if (replacement == null)
+                builder.append(matcher.group(0));
+            else
+                builder.append(replacement);
+            i = matcher.end();
+        }
+        builder.append(path.substring(i));
+        return builder.toString();
+    }
+
+    private static class ResolvedPlan {
+
+        private final FeaturePlan featurePlan;
+        private final List<Consumer<FeatureResolutionListener>> events;
+
+        ResolvedPlan(FeaturePlan featurePlan, List<Consumer<FeatureResolutionListener>> events) {
+            this.featurePlan = featurePlan;
+            this.events = events;
+        }
+    }
+
+    /**
+     * Passes resolution events on to the listener of the request while recording them for replay.
+     */
+    private static class RecordingListener implements FeatureResolutionListener {
+
+        private final FeatureResolutionListener listener;
+        private final List<Consumer<FeatureResolutionListener>> events;
+
+        RecordingListener(FeatureResolutionListener listener, List<Consumer<FeatureResolutionListener>> events) {
+            this.listener = listener;
+            this.events = events;
+        }
+
+        @Override
+        public void featureProcessed(Feature feature) {
+            events.add(l -> l.featureProcessed(feature));
+            listener.featureProcessed(feature);
+        }
+
+        @Override
+        public void featureAdded(Feature feature) {
+            events.add(l -> l.featureAdded(feature));
+            listener.featureAdded(feature);
+        }
+    }
+}
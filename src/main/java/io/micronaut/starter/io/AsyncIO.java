@@ -0,0 +1,133 @@
+package io.micronaut.starter.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs IO tasks asynchronously and waits for them, rethrowing the exception a task failed with
+ * rather than the {@link CompletionException} that wraps it.
+ */
+public final class AsyncIO {
+
+    private AsyncIO() {
+    }
+
+    /**
+     * @param task The task
+     * @param executor The executor to run the task on
+     * @param <T> The result type
+     * @return The result, completed with an {@link UncheckedIOException} if the task failed with an {@link IOException}
+     */
+    public static <T> CompletableFuture<T> supplyAsync(IOSupplier<T> task, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.get();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * @param future The future
+     * @param <T> The result type
+     * @return The result
+     * @throws IOException If the task failed with an {@link IOException}
+     */
+    public static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Waits for all futures, rethrowing the first failure.
+     *
+     * @param futures The futures
+     * @throws IOException If a task failed with an {@link IOException}
+     */
+    public static void joinAll(List<? extends CompletableFuture<?>> futures) throws IOException {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static IOException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException) {
+            return ((UncheckedIOException) cause).getCause();
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw e;
+    }
+
+    @FunctionalInterface
+    public interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+
+    @FunctionalInterface
+    interface IOConsumer<T> {
+        void accept(T value) throws IOException;
+    }
+
+    /**
+     * Runs tasks on the common pool and hands their results to a consumer in the order the tasks
+     * were submitted. At most twice as many tasks as the pool has threads are in flight, so the
+     * results never pile up in memory.
+     *
+     * @param <T> The result type
+     */
+    static final class OrderedQueue<T> {
+
+        private final IOConsumer<T> consumer;
+        private final int maxPending = ForkJoinPool.getCommonPoolParallelism() * 2;
+        private final Deque<CompletableFuture<T>> pending = new ArrayDeque<>();
+
+        OrderedQueue(IOConsumer<T> consumer) {
+            this.consumer = consumer;
+        }
+
+        void submit(IOSupplier<T> task) throws IOException {
+            if (pending.size() >= maxPending) {
+                consumeNext();
+            }
+            pending.add(supplyAsync(task, ForkJoinPool.commonPool()));
+        }
+
+        /**
+         * Consumes a result that is already available, immediately if no task is pending.
+         */
+        void add(T value) throws IOException {
+            if (pending.isEmpty()) {
+                consumer.accept(value);
+            } else {
+                pending.add(CompletableFuture.completedFuture(value));
+            }
+        }
+
+        void drain() throws IOException {
+            while (!pending.isEmpty()) {
+                consumeNext();
+            }
+        }
+
+        private void consumeNext() throws IOException {
+            consumer.accept(join(pending.poll()));
+        }
+    }
+}
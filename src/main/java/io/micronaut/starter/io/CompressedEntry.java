@@ -0,0 +1,93 @@
+package io.micronaut.starter.io;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * The immutable, already compressed data of a single ZIP entry together with the
+ * checksum and sizes needed to write its headers.
+ */
+final class CompressedEntry {
+
+    static final int STORED = 0;
+    static final int DEFLATED = 8;
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+
+    private final int method;
+    private final long crc;
+    private final long size;
+    private final byte[] data;
+
+    private CompressedEntry(int method, long crc, long size, byte[] data) {
+        this.method = method;
+        this.crc = crc;
+        this.size = size;
+        this.data = data;
+    }
+
+    /**
+     * Deflates the given bytes.
+     *
+     * @param bytes The uncompressed bytes
+     * @param offset The offset of the first byte
+     * @param length The number of bytes
+     * @param level The deflate level
+     * @return The compressed entry
+     */
+    static CompressedEntry deflate(byte[] bytes, int offset, int length, int level) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setLevel(level);
+        deflater.setInput(bytes, offset, length);
+        deflater.finish();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(64, length / 2));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int len = deflater.deflate(buffer);
+            outputStream.write(buffer, 0, len);
+        }
+        return new CompressedEntry(DEFLATED, crc(bytes, offset, length), length, outputStream.toByteArray());
+    }
+
+    /**
+     * Stores the given bytes uncompressed.
+     *
+     * @param bytes The bytes
+     * @param offset The offset of the first byte
+     * @param length The number of bytes
+     * @return The stored entry
+     */
+    static CompressedEntry store(byte[] bytes, int offset, int length) {
+        byte[] data = offset == 0 && length == bytes.length ? bytes : Arrays.copyOfRange(bytes, offset, offset + length);
+        return new CompressedEntry(STORED, crc(bytes, offset, length), length, data);
+    }
+
+    private static long crc(byte[] bytes, int offset, int length) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, offset, length);
+        return crc32.getValue();
+    }
+
+    int getMethod() {
+        return method;
+    }
+
+    long getCrc() {
+        return crc;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    long getCompressedSize() {
+        return data.length;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+}
@@ -0,0 +1,55 @@
+package io.micronaut.starter.io;
+
+import java.util.zip.Deflater;
+
+/**
+ * Decides how each entry of a ZIP archive is compressed. Binary files, such as the wrapper jars,
+ * are usually compressed already, so by default they are stored as they are and only text is
+ * deflated.
+ */
+public final class CompressionPolicy {
+
+    public static final CompressionPolicy DEFAULT = new CompressionPolicy(Deflater.DEFAULT_COMPRESSION, true);
+
+    /**
+     * Trades archive size for speed, for transfers between services on a fast network.
+     */
+    public static final CompressionPolicy FASTEST = new CompressionPolicy(Deflater.BEST_SPEED, true);
+
+    private final int textLevel;
+    private final boolean storeBinaries;
+
+    /**
+     * @param textLevel The deflate level of text entries, from 0 to 9, or -1 for the default level
+     * @param storeBinaries Whether binary entries are stored rather than deflated
+     */
+    public CompressionPolicy(int textLevel, boolean storeBinaries) {
+        if (textLevel < Deflater.DEFAULT_COMPRESSION || textLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + textLevel);
+        }
+        this.textLevel = textLevel;
+        this.storeBinaries = storeBinaries;
+    }
+
+    public int getTextLevel() {
+        return textLevel;
+    }
+
+    public boolean isStoreBinaries() {
+        return storeBinaries;
+    }
+
+    CompressedEntry compress(byte[] bytes, int offset, int length, boolean binary) {
+        if (binary && storeBinaries) {
+            return CompressedEntry.store(bytes, offset, length);
+        }
+        return CompressedEntry.deflate(bytes, offset, length, textLevel);
+    }
+
+    /**
+     * @return Identifies how an entry is compressed under this policy, for caching compressed entries
+     */
+    String describe(boolean binary) {
+        return binary && storeBinaries ? "stored" : "deflated-" + textLevel;
+    }
+}
@@ -3,57 +3,260 @@ package io.micronaut.starter.io;
 import io.micronaut.starter.command.BaseCommand;
 import io.micronaut.starter.OutputHandler;
 import io.micronaut.starter.Project;
+import io.micronaut.starter.template.ByteArrayTemplate;
+import io.micronaut.starter.template.StaticResourceCache;
 import io.micronaut.starter.template.URLTemplate;
 import io.micronaut.starter.template.Template;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
+/**
+ * Writes a project to the file system. The files are collected until the handler is closed and
+ * then written concurrently, after the directories they need have been created once. A new
+ * project is written into a hidden sibling directory that is renamed to the project directory
+ * only when every file has been written, so a failure never leaves a partial project behind.
+ * Generating into an existing directory writes the files in place. Static resources that are
+ * files themselves, as on an exploded classpath, are copied with {@link FileChannel#transferTo}.
+ */
 public class FileSystemOutputHandler implements OutputHandler {
 
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    // the permissions are masked by the umask, as they would be for any other file created
+    private static final FileAttribute<?>[] FILE_ATTRIBUTES = attributes("rw-rw-rw-");
+    private static final FileAttribute<?>[] EXECUTABLE_ATTRIBUTES = attributes("rwxrwxrwx");
+    private static final Set<OpenOption> OPEN_OPTIONS = new HashSet<>(Arrays.asList(
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    // blocking file IO is kept off the common pool, which renders and compresses
+    private static final ExecutorService WRITERS = writers(Math.max(4, Runtime.getRuntime().availableProcessors()));
+
     private final BaseCommand command;
-    File applicationDirectory;
+    private final Path applicationDirectory;
+    private final boolean inplace;
+    private final Map<String, Template> files = new LinkedHashMap<>();
 
     public FileSystemOutputHandler(Project project, boolean inplace, BaseCommand command) throws IOException {
         this.command = command;
+        this.inplace = inplace;
         File baseDirectory = new File(".").getCanonicalFile();
         if (inplace) {
-            applicationDirectory = baseDirectory;
+            applicationDirectory = baseDirectory.toPath();
         } else {
-            Path applicationPath = Paths.get(baseDirectory.getPath(), project.getAppName());
-            applicationDirectory = applicationPath.toAbsolutePath().normalize().toFile();
+            applicationDirectory = Paths.get(baseDirectory.getPath(), project.getAppName()).toAbsolutePath().normalize();
         }
-        if (applicationDirectory.exists() && !inplace) {
+        if (Files.exists(applicationDirectory) && !inplace) {
             throw new IllegalArgumentException("Cannot create the project because the target directory already exists");
         }
     }
 
+    /**
+     * @param directory The directory to write to. Files are written in place if it exists
+     * @param command The command to report warnings to, or null
+     */
     public FileSystemOutputHandler(File directory, BaseCommand command) throws IOException {
         this.command = command;
-        this.applicationDirectory = directory;
+        this.applicationDirectory = directory.toPath().toAbsolutePath().normalize();
+        this.inplace = Files.exists(applicationDirectory);
     }
 
     @Override
     public void write(String path, Template contents) throws IOException {
-        File targetFile = new File(applicationDirectory, path);
-        targetFile.getParentFile().mkdirs();
-        targetFile.createNewFile();
+        files.put(path, contents);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inplace) {
+            writeFiles(applicationDirectory);
+            return;
+        }
+        Path staging = applicationDirectory.resolveSibling("." + applicationDirectory.getFileName() + "-" + UUID.randomUUID());
+        Files.createDirectories(staging);
+        boolean claimed = false;
+        try {
+            writeFiles(staging);
+            // rename(2) silently replaces an empty directory, so the target is claimed first. Claiming fails if
+            // anything appeared there since the constructor checked, and the rename fails if anything was
+            // written into the claimed directory since. Elsewhere the rename itself fails if the target exists
+            if (POSIX) {
+                claim();
+                claimed = true;
+            }
+            Files.move(staging, applicationDirectory, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                delete(staging);
+                if (claimed) {
+                    Files.deleteIfExists(applicationDirectory);
+                }
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
 
-        try (OutputStream os = Files.newOutputStream(targetFile.toPath())) {
-            contents.write(os);
+    private void claim() throws IOException {
+        try {
+            Files.createDirectory(applicationDirectory);
+        } catch (FileAlreadyExistsException e) {
+            throw new IllegalArgumentException("Cannot create the project because the target directory already exists");
         }
+    }
+
+    private void writeFiles(Path directory) throws IOException {
+        // creating only the deepest directories creates every other one along the way
+        Set<Path> parents = new HashSet<>();
+        for (String path: files.keySet()) {
+            Path parent = directory.resolve(path).getParent();
+            if (parent != null) {
+                parents.add(parent);
+            }
+        }
+        // each walk up stops at a directory already seen, so every directory is visited once
+        Set<Path> ancestors = new HashSet<>();
+        for (Path parent: parents) {
+            Path ancestor = parent.getParent();
+            while (ancestor != null && ancestors.add(ancestor)) {
+                ancestor = ancestor.getParent();
+            }
+        }
+        List<CompletableFuture<Void>> directories = new ArrayList<>(parents.size());
+        for (Path parent: parents) {
+            if (!ancestors.contains(parent)) {
+                directories.add(run(() -> Files.createDirectories(parent)));
+            }
+        }
+        AsyncIO.joinAll(directories);
+
+        List<CompletableFuture<Void>> writes = new ArrayList<>(files.size());
+        for (Map.Entry<String, Template> file: files.entrySet()) {
+            writes.add(run(() -> writeFile(file.getKey(), directory.resolve(file.getKey()), file.getValue())));
+        }
+        AsyncIO.joinAll(writes);
+    }
 
-        if (contents.isExecutable()) {
-            if (!targetFile.setExecutable(true, true)) {
+    private void writeFile(String path, Path file, Template template) throws IOException {
+        boolean executable = template.isExecutable();
+        try (FileChannel channel = FileChannel.open(file, OPEN_OPTIONS, executable ? EXECUTABLE_ATTRIBUTES : FILE_ATTRIBUTES)) {
+            if (template instanceof ByteArrayTemplate) {
+                ByteArrayTemplate bytes = (ByteArrayTemplate) template;
+                write(channel, ByteBuffer.wrap(bytes.getBytes(), bytes.getOffset(), bytes.getLength()));
+            } else if (template instanceof URLTemplate) {
+                URLTemplate resource = (URLTemplate) template;
+                Optional<Path> source = resource.getFile();
+                if (source.isPresent()) {
+                    transfer(source.get(), channel);
+                } else {
+                    write(channel, StaticResourceCache.getInstance().get(resource.getUrl()));
+                }
+            } else {
+                OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel));
+                template.write(outputStream);
+                outputStream.flush();
+            }
+        }
+        // the permissions only apply to files that did not exist yet
+        if (executable && (!POSIX || inplace)) {
+            if (!file.toFile().setExecutable(true, true) && command != null) {
                 command.warning("Failed to set " + path + " to be executable");
             }
         }
     }
 
-    @Override
-    public void close() throws IOException {
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Copies a file without reading it into the heap, leaving the copy to the kernel where it can.
+     */
+    private static void transfer(Path source, FileChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferTo(position, size - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static CompletableFuture<Void> run(IOAction action) {
+        return AsyncIO.supplyAsync(() -> {
+            action.run();
+            return null;
+        }, WRITERS);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path: (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Idle threads exit, so the pool costs nothing between projects.
+     */
+    private static ExecutorService writers(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "file-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static FileAttribute<?>[] attributes(String permissions) {
+        if (POSIX) {
+            return new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(permissions))};
+        }
+        return new FileAttribute<?>[0];
+    }
 
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
     }
 }
@@ -0,0 +1,103 @@
+package io.micronaut.starter.io;
+
+import io.micronaut.starter.OutputHandler;
+import io.micronaut.starter.template.ByteArrayTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable, in-memory tree of generated files. The contents of all files are slices of one
+ * shared array, so the project can be kept around and serialized any number of times, for
+ * example to a ZIP archive or a directory, by writing it to another {@link OutputHandler}.
+ */
+public final class GeneratedProject {
+
+    private final byte[] arena;
+    private final List<Entry> entries;
+    private final Map<String, Entry> index;
+
+    GeneratedProject(byte[] arena, List<Entry> entries) {
+        this.arena = arena;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.index = new HashMap<>(entries.size() * 2);
+        for (Entry entry: entries) {
+            index.put(entry.path, entry);
+        }
+    }
+
+    /**
+     * @return The paths of all files in the order they were generated
+     */
+    public List<String> getPaths() {
+        List<String> paths = new ArrayList<>(entries.size());
+        for (Entry entry: entries) {
+            paths.add(entry.path);
+        }
+        return paths;
+    }
+
+    /**
+     * @param path The path of a file
+     * @return A read only view of the file contents
+     */
+    public Optional<ByteBuffer> getContents(String path) {
+        Entry entry = index.get(path);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(ByteBuffer.wrap(arena, entry.offset, entry.length).slice().asReadOnlyBuffer());
+    }
+
+    public boolean isExecutable(String path) {
+        Entry entry = index.get(path);
+        return entry != null && entry.executable;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The total number of bytes of all files
+     */
+    public int getTotalSize() {
+        return arena.length;
+    }
+
+    /**
+     * Writes every file to the given output handler, in the order they were generated, and closes it.
+     *
+     * @param outputHandler The output handler
+     * @throws IOException If the files could not be written
+     */
+    public void writeTo(OutputHandler outputHandler) throws IOException {
+        for (Entry entry: entries) {
+            outputHandler.write(entry.path, new ByteArrayTemplate(entry.path, arena, entry.offset, entry.length, entry.executable, entry.binary));
+        }
+        outputHandler.close();
+    }
+
+    static final class Entry {
+
+        private final String path;
+        private final int offset;
+        private final int length;
+        private final boolean executable;
+        private final boolean binary;
+
+        Entry(String path, int offset, int length, boolean executable, boolean binary) {
+            this.path = path;
+            this.offset = offset;
+            this.length = length;
+            this.executable = executable;
+            this.binary = binary;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.micronaut.starter.io;
+
+import io.micronaut.starter.OutputHandler;
+import io.micronaut.starter.template.Template;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the generated files in memory. All file contents are appended to a single arena
+ * buffer and, once the handler is closed, are available as an immutable {@link GeneratedProject}.
+ */
+public class InMemoryOutputHandler implements OutputHandler {
+
+    private final ByteArrayOutputStream arena = new ByteArrayOutputStream(16 * 1024);
+    private final List<GeneratedProject.Entry> entries = new ArrayList<>();
+    private GeneratedProject project;
+
+    @Override
+    public void write(String path, Template contents) throws IOException {
+        if (project != null) {
+            throw new IllegalStateException("The output handler has already been closed");
+        }
+        int offset = arena.size();
+        contents.write(arena);
+        entries.add(new GeneratedProject.Entry(path, offset, arena.size() - offset, contents.isExecutable(), contents.isBinary()));
+    }
+
+    @Override
+    public void close() {
+        if (project == null) {
+            project = new GeneratedProject(arena.toByteArray(), entries);
+        }
+    }
+
+    /**
+     * @return The generated project
+     * @throws IllegalStateException If the handler has not been closed yet
+     */
+    public GeneratedProject getProject() {
+        if (project == null) {
+            throw new IllegalStateException("The generated project is only available once the output handler has been closed");
+        }
+        return project;
+    }
+}
@@ -0,0 +1,124 @@
+package io.micronaut.starter.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses a stream in fixed size blocks on all processors and writes each block as a gzip
+ * member of its own, in order. A sequence of members is a valid gzip stream which {@code gzip},
+ * {@code tar -xz} and {@link java.util.zip.GZIPInputStream} read as one. Only a bounded number
+ * of blocks is compressed at a time, so the stream is never buffered as a whole.
+ */
+final class ParallelGzipOutputStream extends OutputStream {
+
+    static final int BLOCK_SIZE = 128 * 1024;
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+
+    private final OutputStream outputStream;
+    private final int level;
+    private final AsyncIO.OrderedQueue<byte[]> members;
+    private byte[] block = new byte[BLOCK_SIZE];
+    private int count;
+    private boolean written;
+    private boolean closed;
+
+    /**
+     * @param outputStream The stream the gzip members are written to
+     * @param level The deflate level
+     */
+    ParallelGzipOutputStream(OutputStream outputStream, int level) {
+        this.outputStream = outputStream;
+        this.level = level;
+        this.members = new AsyncIO.OrderedQueue<>(outputStream::write);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        block[count++] = (byte) b;
+        if (count == BLOCK_SIZE) {
+            submit();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int n = Math.min(len, BLOCK_SIZE - count);
+            System.arraycopy(b, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == BLOCK_SIZE) {
+                submit();
+            }
+        }
+    }
+
+    /**
+     * Writes the members of the blocks compressed so far. The current partial block is kept,
+     * since every flushed block would cost a member header.
+     */
+    @Override
+    public void flush() throws IOException {
+        members.drain();
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            // an empty stream still needs one member to be valid
+            if (count > 0 || !written) {
+                submit();
+            }
+            members.drain();
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private void submit() throws IOException {
+        byte[] data = block;
+        int length = count;
+        members.submit(() -> member(data, length, level));
+        block = new byte[BLOCK_SIZE];
+        count = 0;
+        written = true;
+    }
+
+    private static byte[] member(byte[] data, int length, int level) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setLevel(level);
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        ByteArrayOutputStream member = new ByteArrayOutputStream(length / 2 + 64);
+        member.write(HEADER, 0, HEADER.length);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int len = deflater.deflate(buffer);
+            member.write(buffer, 0, len);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        writeInt(member, crc.getValue());
+        writeInt(member, length);
+        return member.toByteArray();
+    }
+
+    private static void writeInt(ByteArrayOutputStream outputStream, long value) {
+        outputStream.write((int) value);
+        outputStream.write((int) (value >>> 8));
+        outputStream.write((int) (value >>> 16));
+        outputStream.write((int) (value >>> 24));
+    }
+}
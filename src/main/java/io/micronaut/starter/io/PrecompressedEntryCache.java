@@ -0,0 +1,47 @@
+package io.micronaut.starter.io;
+
+import io.micronaut.starter.template.StaticResourceCache;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compresses static classpath resources once per JVM and compression, so that archives only
+ * have to compress the output of rendered templates.
+ */
+final class PrecompressedEntryCache {
+
+    private static final PrecompressedEntryCache INSTANCE = new PrecompressedEntryCache();
+
+    private final ConcurrentMap<String, CompressedEntry> entries = new ConcurrentHashMap<>();
+
+    static PrecompressedEntryCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param url The resource URL
+     * @param binary Whether the resource is binary
+     * @param policy The compression policy
+     * @return The resource compressed as the policy requires, including its checksum
+     * @throws IOException If the resource could not be read
+     */
+    CompressedEntry get(URL url, boolean binary, CompressionPolicy policy) throws IOException {
+        String key = url.toExternalForm() + '#' + policy.describe(binary);
+        CompressedEntry entry = entries.get(key);
+        if (entry == null) {
+            ByteBuffer buffer = StaticResourceCache.getInstance().get(url);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            entry = policy.compress(bytes, 0, bytes.length, binary);
+            CompressedEntry existing = entries.putIfAbsent(key, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,139 @@
+package io.micronaut.starter.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes a POSIX ustar archive of regular files. Names longer than 100 bytes are split into the
+ * prefix and name fields at a path separator. Files are owned by root and their modes are
+ * {@code 0644}, or {@code 0755} for executables.
+ */
+class TarArchiveWriter implements Closeable {
+
+    private static final int BLOCK_SIZE = 512;
+    private static final int NAME_LENGTH = 100;
+    private static final int PREFIX_LENGTH = 155;
+    private static final long MAX_SIZE = 077777777777L;
+    private static final byte[] MAGIC = "ustar\0".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream outputStream;
+    private final byte[] header = new byte[BLOCK_SIZE];
+    private final long time;
+
+    TarArchiveWriter(OutputStream outputStream, long time) {
+        this.outputStream = outputStream;
+        this.time = time / 1000;
+    }
+
+    void write(String name, boolean executable, byte[] bytes, int offset, int length) throws IOException {
+        writeHeader(name, executable, length);
+        outputStream.write(bytes, offset, length);
+        pad(length);
+    }
+
+    void write(String name, boolean executable, ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        writeHeader(name, executable, length);
+        if (buffer.hasArray()) {
+            outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        } else {
+            byte[] chunk = new byte[Math.min(length, 8192)];
+            ByteBuffer source = buffer.duplicate();
+            while (source.hasRemaining()) {
+                int len = Math.min(chunk.length, source.remaining());
+                source.get(chunk, 0, len);
+                outputStream.write(chunk, 0, len);
+            }
+        }
+        pad(length);
+    }
+
+    /**
+     * Ends the archive with two empty blocks and closes the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        Arrays.fill(header, (byte) 0);
+        outputStream.write(header);
+        outputStream.write(header);
+        outputStream.close();
+    }
+
+    private void writeHeader(String path, boolean executable, long size) throws IOException {
+        if (size > MAX_SIZE) {
+            throw new IOException("The file is too large for a ustar archive: " + path);
+        }
+        byte[] name = path.getBytes(StandardCharsets.UTF_8);
+        int split = 0;
+        if (name.length > NAME_LENGTH) {
+            // the prefix ends at the separator that leaves the longest name that still fits
+            split = -1;
+            for (int i = Math.max(0, name.length - NAME_LENGTH - 1); i < name.length && i <= PREFIX_LENGTH; i++) {
+                if (name[i] == '/') {
+                    split = i;
+                    break;
+                }
+            }
+            if (split <= 0) {
+                throw new IOException("The path is too long for a ustar archive: " + path);
+            }
+        }
+
+        Arrays.fill(header, (byte) 0);
+        if (split == 0) {
+            System.arraycopy(name, 0, header, 0, name.length);
+        } else {
+            System.arraycopy(name, split + 1, header, 0, name.length - split - 1);
+            System.arraycopy(name, 0, header, 345, split);
+        }
+        writeOctal(100, 8, executable ? 0755 : 0644);
+        writeOctal(108, 8, 0);
+        writeOctal(116, 8, 0);
+        writeOctal(124, 12, size);
+        writeOctal(136, 12, time);
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        header[156] = '0';
+        System.arraycopy(MAGIC, 0, header, 257, MAGIC.length);
+        header[263] = '0';
+        header[264] = '0';
+        writeAscii(265, "root");
+        writeAscii(297, "root");
+
+        long checksum = 0;
+        for (byte b: header) {
+            checksum += b & 0xFF;
+        }
+        writeOctal(148, 7, checksum);
+        outputStream.write(header);
+    }
+
+    private void pad(int length) throws IOException {
+        int remainder = length % BLOCK_SIZE;
+        if (remainder != 0) {
+            Arrays.fill(header, (byte) 0);
+            outputStream.write(header, 0, BLOCK_SIZE - remainder);
+        }
+    }
+
+    /**
+     * Writes the value as zero padded octal digits followed by a NUL, filling the field.
+     */
+    private void writeOctal(int index, int length, long value) {
+        int digits = length - 1;
+        for (int i = digits - 1; i >= 0; i--) {
+            header[index + i] = (byte) ('0' + (value & 7));
+            value >>>= 3;
+        }
+        header[index + digits] = 0;
+    }
+
+    private void writeAscii(int index, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            header[index + i] = (byte) value.charAt(i);
+        }
+    }
+}
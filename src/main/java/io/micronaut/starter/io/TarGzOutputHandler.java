@@ -0,0 +1,67 @@
+package io.micronaut.starter.io;
+
+import io.micronaut.starter.OutputHandler;
+import io.micronaut.starter.template.ByteArrayTemplate;
+import io.micronaut.starter.template.StaticResourceCache;
+import io.micronaut.starter.template.Template;
+import io.micronaut.starter.template.URLTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a project as a gzip compressed tar archive, which keeps the executable bit of files
+ * such as {@code gradlew}. Entries are written as they arrive, so the archive is never held in memory.
+ */
+public class TarGzOutputHandler implements OutputHandler {
+
+    private final TarArchiveWriter archiveWriter;
+
+    public TarGzOutputHandler(OutputStream outputStream) throws IOException {
+        this(outputStream, Deflater.DEFAULT_COMPRESSION, false);
+    }
+
+    /**
+     * Creates a handler that streams the archive to the given output stream, which is closed
+     * when the handler is closed.
+     *
+     * @param outputStream The output stream
+     * @param level The deflate level, from 0 to 9
+     * @param parallel Whether to compress blocks of the archive on all processors
+     * @throws IOException If the gzip header could not be written
+     */
+    public TarGzOutputHandler(OutputStream outputStream, int level, boolean parallel) throws IOException {
+        this.archiveWriter = new TarArchiveWriter(gzip(outputStream, level, parallel), System.currentTimeMillis());
+    }
+
+    @Override
+    public void write(String path, Template contents) throws IOException {
+        if (contents instanceof URLTemplate) {
+            archiveWriter.write(path, contents.isExecutable(), StaticResourceCache.getInstance().get(((URLTemplate) contents).getUrl()));
+        } else {
+            ByteArrayTemplate rendered = contents instanceof ByteArrayTemplate ? (ByteArrayTemplate) contents : ByteArrayTemplate.render(contents);
+            archiveWriter.write(path, contents.isExecutable(), rendered.getBytes(), rendered.getOffset(), rendered.getLength());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        archiveWriter.close();
+    }
+
+    private static OutputStream gzip(OutputStream outputStream, int level, boolean parallel) throws IOException {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        if (parallel) {
+            return new ParallelGzipOutputStream(outputStream, level);
+        }
+        return new GZIPOutputStream(outputStream, 64 * 1024) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package io.micronaut.starter.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a ZIP archive from entries that have already been compressed, which
+ * {@link java.util.zip.ZipOutputStream} does not support. The headers match the ones written
+ * by {@code ZipOutputStream}, except that sizes are always known up front so no data
+ * descriptors are needed. Zip64 is not supported.
+ */
+class ZipArchiveWriter implements Closeable {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int UTF8_FLAG = 0x800;
+    private static final long MAX_OFFSET = 0xFFFFFFFFL;
+    private static final int MAX_ENTRIES = 0xFFFF;
+
+    private final OutputStream outputStream;
+    private final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+    private final byte[] header = new byte[46];
+    private final int dosTime;
+    private long offset;
+    private int entries;
+
+    ZipArchiveWriter(OutputStream outputStream, long time) {
+        this.outputStream = outputStream;
+        this.dosTime = toDosTime(time);
+    }
+
+    void write(String name, CompressedEntry entry) throws IOException {
+        if (entries == MAX_ENTRIES || offset > MAX_OFFSET - entry.getCompressedSize()) {
+            throw new ZipException("The archive is too large to be written without Zip64");
+        }
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int version = entry.getMethod() == CompressedEntry.STORED ? 10 : 20;
+
+        writeInt(0, LOCAL_HEADER_SIGNATURE);
+        writeShort(4, version);
+        writeShort(6, UTF8_FLAG);
+        writeShort(8, entry.getMethod());
+        writeInt(10, dosTime);
+        writeInt(14, entry.getCrc());
+        writeInt(18, entry.getCompressedSize());
+        writeInt(22, entry.getSize());
+        writeShort(26, nameBytes.length);
+        writeShort(28, 0);
+        outputStream.write(header, 0, 30);
+        outputStream.write(nameBytes);
+        outputStream.write(entry.getData());
+
+        writeInt(0, CENTRAL_HEADER_SIGNATURE);
+        writeShort(4, version);
+        writeShort(6, version);
+        writeShort(8, UTF8_FLAG);
+        writeShort(10, entry.getMethod());
+        writeInt(12, dosTime);
+        writeInt(16, entry.getCrc());
+        writeInt(20, entry.getCompressedSize());
+        writeInt(24, entry.getSize());
+        writeShort(28, nameBytes.length);
+        writeShort(30, 0);
+        writeShort(32, 0);
+        writeShort(34, 0);
+        writeShort(36, 0);
+        writeInt(38, 0);
+        writeInt(42, offset);
+        centralDirectory.write(header, 0, 46);
+        centralDirectory.write(nameBytes);
+
+        offset += 30 + nameBytes.length + entry.getCompressedSize();
+        entries++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        centralDirectory.writeTo(outputStream);
+        writeInt(0, END_SIGNATURE);
+        writeShort(4, 0);
+        writeShort(6, 0);
+        writeShort(8, entries);
+        writeShort(10, entries);
+        writeInt(12, centralDirectory.size());
+        writeInt(16, offset);
+        writeShort(20, 0);
+        outputStream.write(header, 0, 22);
+        outputStream.close();
+    }
+
+    private void writeShort(int index, int value) {
+        header[index] = (byte) value;
+        header[index + 1] = (byte) (value >>> 8);
+    }
+
+    private void writeInt(int index, long value) {
+        header[index] = (byte) value;
+        header[index + 1] = (byte) (value >>> 8);
+        header[index + 2] = (byte) (value >>> 16);
+        header[index + 3] = (byte) (value >>> 24);
+    }
+
+    private static int toDosTime(long time) {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        int year = dateTime.getYear();
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year - 1980) << 25 | dateTime.getMonthValue() << 21 | dateTime.getDayOfMonth() << 16 |
+                dateTime.getHour() << 11 | dateTime.getMinute() << 5 | dateTime.getSecond() >> 1;
+    }
+}
@@ -3,20 +3,30 @@ package io.micronaut.starter.io;
 import io.micronaut.starter.OutputHandler;
 import io.micronaut.starter.Project;
 import io.micronaut.starter.command.BaseCommand;
+import io.micronaut.starter.template.ByteArrayTemplate;
 import io.micronaut.starter.template.Template;
+import io.micronaut.starter.template.URLTemplate;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
+/**
+ * Writes a project as a ZIP archive, compressing each entry as the {@link CompressionPolicy}
+ * decides. Entries can optionally be deflated in parallel on the common
+ * pool, in which case they are still written in the order they were added, and the archive is
+ * byte for byte the one written sequentially.
+ */
 public class ZipOutputHandler implements OutputHandler {
 
-    ZipOutputStream zipOutputStream;
+    private final ZipArchiveWriter archiveWriter;
     private final BaseCommand command;
+    private final CompressionPolicy compressionPolicy;
+    private final boolean parallel;
+    private final AsyncIO.OrderedQueue<NamedEntry> entries = new AsyncIO.OrderedQueue<>(this::writeEntry);
 
     public ZipOutputHandler(Project project, BaseCommand command) throws IOException {
         this.command = command;
@@ -27,19 +37,74 @@ public class ZipOutputHandler implements OutputHandler {
             throw new IllegalArgumentException("Cannot create the project because the target zip file already exists");
         }
         zip.createNewFile();
-        zipOutputStream = new ZipOutputStream(Files.newOutputStream(zip.toPath()));
+        archiveWriter = new ZipArchiveWriter(Files.newOutputStream(zip.toPath()), System.currentTimeMillis());
+        compressionPolicy = CompressionPolicy.DEFAULT;
+        parallel = false;
+    }
+
+    /**
+     * Creates a handler that streams the archive to the given output stream, for example
+     * the body of an HTTP response. Nothing is written to disk. The stream is closed when
+     * the handler is closed.
+     *
+     * @param outputStream The output stream
+     */
+    public ZipOutputHandler(OutputStream outputStream) {
+        this(outputStream, CompressionPolicy.DEFAULT, false);
+    }
+
+    /**
+     * @param outputStream The output stream, closed when the handler is closed
+     * @param compressionPolicy How each entry is compressed
+     * @param parallel Whether to deflate entries on all processors
+     */
+    public ZipOutputHandler(OutputStream outputStream, CompressionPolicy compressionPolicy, boolean parallel) {
+        this(outputStream, compressionPolicy, parallel, System.currentTimeMillis());
+    }
+
+    ZipOutputHandler(OutputStream outputStream, CompressionPolicy compressionPolicy, boolean parallel, long time) {
+        this.command = null;
+        this.archiveWriter = new ZipArchiveWriter(outputStream, time);
+        this.compressionPolicy = compressionPolicy;
+        this.parallel = parallel;
     }
 
     @Override
     public void write(String path, Template contents) throws IOException {
-        ZipEntry zipEntry = new ZipEntry(path);
-        zipOutputStream.putNextEntry(zipEntry);
-        contents.write(zipOutputStream);
-        zipOutputStream.closeEntry();
+        if (contents instanceof URLTemplate) {
+            // static resources are identical for every project, so they are only compressed once
+            CompressedEntry entry = PrecompressedEntryCache.getInstance().get(((URLTemplate) contents).getUrl(), contents.isBinary(), compressionPolicy);
+            entries.add(new NamedEntry(path, entry));
+        } else if (parallel) {
+            entries.submit(() -> new NamedEntry(path, compress(contents)));
+        } else {
+            archiveWriter.write(path, compress(contents));
+        }
     }
 
     @Override
     public void close() throws IOException {
-        zipOutputStream.close();
+        entries.drain();
+        archiveWriter.close();
+    }
+
+    private CompressedEntry compress(Template contents) throws IOException {
+        ByteArrayTemplate rendered = contents instanceof ByteArrayTemplate ? (ByteArrayTemplate) contents : ByteArrayTemplate.render(contents);
+        return compressionPolicy.compress(rendered.getBytes(), rendered.getOffset(), rendered.getLength(), contents.isBinary());
+    }
+
+    private void writeEntry(NamedEntry entry) throws IOException {
+        archiveWriter.write(entry.path, entry.compressed);
+    }
+
+    private static class NamedEntry {
+
+        private final String path;
+        private final CompressedEntry compressed;
+
+        NamedEntry(String path, CompressedEntry compressed) {
+            this.path = path;
+            this.compressed = compressed;
+        }
     }
 }
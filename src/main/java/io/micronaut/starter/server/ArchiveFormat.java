@@ -0,0 +1,46 @@
+package io.micronaut.starter.server;
+
+import java.util.Map;
+
+/**
+ * The archive formats a project can be downloaded in, selected with the {@code format} parameter.
+ */
+public enum ArchiveFormat {
+    zip("application/zip", ".zip"),
+    tgz("application/gzip", ".tar.gz");
+
+    public static final String PARAMETER = "format";
+
+    private final String contentType;
+    private final String extension;
+
+    ArchiveFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * @param parameters The request parameters
+     * @return The requested format, ZIP by default
+     */
+    public static ArchiveFormat of(Map<String, String> parameters) {
+        String format = parameters.get(PARAMETER);
+        if (format == null) {
+            return zip;
+        }
+        for (ArchiveFormat archiveFormat: values()) {
+            if (archiveFormat.name().equals(format)) {
+                return archiveFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported archive format: " + format);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,23 @@
+package io.micronaut.starter.server;
+
+import io.micronaut.starter.Project;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Generates a project for a single request of the {@link GenerationServer}.
+ */
+@FunctionalInterface
+public interface ArchiveGenerator {
+
+    /**
+     * @param project The project to generate
+     * @param parameters The request parameters, for example {@code lang} or {@code features}
+     * @param outputStream The stream the archive is written to, in the {@link ArchiveFormat} given by the
+     *                     parameters. It must be closed once generation completes
+     * @throws IOException If the output could not be written
+     */
+    void generate(Project project, Map<String, String> parameters, OutputStream outputStream) throws IOException;
+}
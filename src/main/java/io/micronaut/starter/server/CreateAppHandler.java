@@ -0,0 +1,132 @@
+package io.micronaut.starter.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import io.micronaut.starter.Project;
+import io.micronaut.starter.util.NameUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Handles {@code GET /create/app/{name}?lang=..&build=..&test=..&features=a,b&format=zip|tgz} by
+ * streaming the generated project as an archive into the response body.
+ */
+class CreateAppHandler implements HttpHandler {
+
+    private final ArchiveGenerator archiveGenerator;
+
+    CreateAppHandler(ArchiveGenerator archiveGenerator) {
+        this.archiveGenerator = archiveGenerator;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+            String name = exchange.getRequestURI().getPath().substring(GenerationServer.CREATE_APP_PATH.length());
+            if (name.isEmpty()) {
+                sendError(exchange, 400, "No application name specified");
+                return;
+            }
+
+            ResponseOutputStream responseOutputStream = new ResponseOutputStream(exchange);
+            try {
+                Project project = NameUtils.parse(name);
+                Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+                ArchiveFormat format = ArchiveFormat.of(parameters);
+
+                exchange.getResponseHeaders().set("Content-Type", format.getContentType());
+                exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"" + project.getAppName() + format.getExtension() + "\"");
+                archiveGenerator.generate(project, parameters, responseOutputStream);
+            } catch (IllegalArgumentException e) {
+                if (responseOutputStream.isCommitted()) {
+                    throw e;
+                }
+                sendError(exchange, 400, e.getMessage());
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, String> parseQuery(String query) throws UnsupportedEncodingException {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (query != null) {
+            for (String parameter: query.split("&")) {
+                int index = parameter.indexOf('=');
+                if (index > 0) {
+                    parameters.put(URLDecoder.decode(parameter.substring(0, index), "UTF-8"),
+                            URLDecoder.decode(parameter.substring(index + 1), "UTF-8"));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * Defers sending the response headers until the first byte is written, so that
+     * validation failures raised before any output can still be reported as a 400.
+     */
+    private static class ResponseOutputStream extends OutputStream {
+
+        private final HttpExchange exchange;
+        private OutputStream delegate;
+
+        ResponseOutputStream(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        boolean isCommitted() {
+            return delegate != null;
+        }
+
+        private OutputStream delegate() throws IOException {
+            if (delegate == null) {
+                // a length of zero selects chunked encoding, so the archive is never buffered
+                exchange.sendResponseHeaders(200, 0);
+                delegate = exchange.getResponseBody();
+            }
+            return delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (delegate != null) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate().close();
+        }
+    }
+}
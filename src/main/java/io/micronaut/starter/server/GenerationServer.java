@@ -0,0 +1,62 @@
+package io.micronaut.starter.server;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+/**
+ * A small HTTP server that generates projects on demand and streams them to the client
+ * as ZIP or tar.gz archives. It is built on the HTTP server shipped with the JDK so that it adds
+ * no dependencies to the CLI.
+ */
+public class GenerationServer {
+
+    public static final String CREATE_APP_PATH = "/create/app/";
+    public static final String METRICS_PATH = "/metrics";
+
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final MetricsHandler metricsHandler = new MetricsHandler();
+
+    public GenerationServer(int port, int threads, ArchiveGenerator archiveGenerator) throws IOException {
+        this.httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executorService = Executors.newFixedThreadPool(threads);
+        httpServer.setExecutor(executorService);
+        httpServer.createContext(CREATE_APP_PATH, new CreateAppHandler(archiveGenerator));
+        httpServer.createContext(METRICS_PATH, metricsHandler);
+    }
+
+    /**
+     * Registers a metric reported by {@code GET /metrics}.
+     *
+     * @param name The metric name
+     * @param value Supplies the current value of the metric
+     */
+    public void addMetric(String name, LongSupplier value) {
+        metricsHandler.addMetric(name, value);
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public void stop() {
+        httpServer.stop(0);
+        executorService.shutdown();
+        stopped.countDown();
+    }
+
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+}
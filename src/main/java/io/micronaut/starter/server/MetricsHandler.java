@@ -0,0 +1,41 @@
+package io.micronaut.starter.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Handles {@code GET /metrics} by writing one {@code name value} line per registered metric.
+ */
+class MetricsHandler implements HttpHandler {
+
+    private final Map<String, LongSupplier> metrics = new ConcurrentSkipListMap<>();
+
+    void addMetric(String name, LongSupplier value) {
+        metrics.put(name, value);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, LongSupplier> metric: metrics.entrySet()) {
+                builder.append(metric.getKey()).append(' ').append(metric.getValue().getAsLong()).append('\n');
+            }
+            byte[] body = builder.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.micronaut.starter.server;
+
+import io.micronaut.starter.feature.Feature;
+import io.micronaut.starter.feature.FeatureResolutionListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts feature resolution steps across all requests without any contention between threads.
+ */
+public class ResolutionMetrics implements FeatureResolutionListener {
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder added = new LongAdder();
+
+    @Override
+    public void featureProcessed(Feature feature) {
+        processed.increment();
+    }
+
+    @Override
+    public void featureAdded(Feature feature) {
+        added.increment();
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    public long getAdded() {
+        return added.sum();
+    }
+
+    /**
+     * Registers the counters with the server.
+     *
+     * @param server The server
+     */
+    public void register(GenerationServer server) {
+        server.addMetric("feature.resolution.processed", this::getProcessed);
+        server.addMetric("feature.resolution.added", this::getAdded);
+    }
+}
@@ -0,0 +1,91 @@
+package io.micronaut.starter.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A template whose contents have already been rendered into memory.
+ */
+public class ByteArrayTemplate implements Template {
+
+    private final String path;
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private final boolean executable;
+    private final boolean binary;
+
+    public ByteArrayTemplate(String path, byte[] bytes) {
+        this(path, bytes, false, false);
+    }
+
+    public ByteArrayTemplate(String path, byte[] bytes, boolean executable, boolean binary) {
+        this(path, bytes, 0, bytes.length, executable, binary);
+    }
+
+    /**
+     * Creates a template backed by a slice of a larger, shared array.
+     *
+     * @param path The path
+     * @param bytes The array
+     * @param offset The offset of the first byte
+     * @param length The number of bytes
+     * @param executable Whether the file is executable
+     * @param binary Whether the file is binary
+     */
+    public ByteArrayTemplate(String path, byte[] bytes, int offset, int length, boolean executable, boolean binary) {
+        this.path = path;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.executable = executable;
+        this.binary = binary;
+    }
+
+    /**
+     * Renders the given template into memory.
+     *
+     * @param template The template
+     * @return The rendered template
+     * @throws IOException If the template could not be rendered
+     */
+    public static ByteArrayTemplate render(Template template) throws IOException {
+        return new ByteArrayTemplate(template.getPath(), RenderBuffer.render(template), template.isExecutable(), template.isBinary());
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean isBinary() {
+        return binary;
+    }
+
+    @Override
+    public boolean isExecutable() {
+        return executable;
+    }
+
+    /**
+     * @return The array holding the rendered bytes, starting at {@link #getOffset()}. The array
+     * is shared and must not be modified.
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        outputStream.write(bytes, offset, length);
+    }
+}
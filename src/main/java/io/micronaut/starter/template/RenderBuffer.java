@@ -0,0 +1,129 @@
+package io.micronaut.starter.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A growable byte buffer that templates are rendered into, reused by every render on the same
+ * thread. A template is rendered completely before it is handed on as one contiguous slice, so
+ * the output handler sees a single write per file. A buffer that grew beyond the
+ * {@code micronaut.starter.render.buffer} system property, 256 KiB by default, is released after
+ * use, which bounds the memory kept per thread.
+ */
+public final class RenderBuffer extends OutputStream {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = Integer.getInteger("micronaut.starter.render.buffer", 256 * 1024);
+    private static final ThreadLocal<RenderBuffer> BUFFERS = ThreadLocal.withInitial(RenderBuffer::new);
+    private static final LongAdder ALLOCATED = new LongAdder();
+    private static final LongAdder RENDERED = new LongAdder();
+
+    private byte[] bytes;
+    private int count;
+    private boolean inUse;
+
+    private RenderBuffer() {
+    }
+
+    /**
+     * Renders the template into an array of exactly its size.
+     *
+     * @param template The template
+     * @return The rendered bytes
+     * @throws IOException If the template could not be rendered
+     */
+    public static byte[] render(Template template) throws IOException {
+        RenderBuffer buffer = acquire();
+        try {
+            template.write(buffer);
+            return Arrays.copyOf(buffer.bytes, buffer.count);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Renders the template and writes it to the output stream with a single write.
+     *
+     * @param template The template
+     * @param outputStream The output stream
+     * @throws IOException If the template could not be rendered or written
+     */
+    public static void write(Template template, OutputStream outputStream) throws IOException {
+        RenderBuffer buffer = acquire();
+        try {
+            template.write(buffer);
+            outputStream.write(buffer.bytes, 0, buffer.count);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * @return The bytes of all buffers allocated so far, including the arrays replaced when a buffer grew
+     */
+    public static long getAllocatedBytes() {
+        return ALLOCATED.sum();
+    }
+
+    /**
+     * @return The bytes rendered so far
+     */
+    public static long getRenderedBytes() {
+        return RENDERED.sum();
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        bytes[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, bytes, count, len);
+        count += len;
+    }
+
+    /**
+     * A render started while another is in progress on the same thread gets a buffer of its own
+     * that is not pooled.
+     */
+    private static RenderBuffer acquire() {
+        RenderBuffer buffer = BUFFERS.get();
+        if (buffer.inUse) {
+            buffer = new RenderBuffer();
+        }
+        buffer.inUse = true;
+        buffer.count = 0;
+        if (buffer.bytes == null) {
+            buffer.allocate(INITIAL_CAPACITY);
+        }
+        return buffer;
+    }
+
+    private void release() {
+        RENDERED.add(count);
+        if (bytes.length > MAX_RETAINED_CAPACITY) {
+            bytes = null;
+        }
+        count = 0;
+        inUse = false;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            byte[] previous = bytes;
+            allocate(Math.max(capacity, previous.length * 2));
+            System.arraycopy(previous, 0, bytes, 0, count);
+        }
+    }
+
+    private void allocate(int capacity) {
+        bytes = new byte[capacity];
+        ALLOCATED.add(capacity);
+    }
+}
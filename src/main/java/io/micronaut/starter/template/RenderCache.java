@@ -0,0 +1,77 @@
+package io.micronaut.starter.template;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes the rendered output of templates that declare a {@link Template#getCacheKey() cache key},
+ * so that templates depending on few or no request values are rendered once rather than on every
+ * generation. The number of cached outputs is bounded by the {@code micronaut.starter.cache.templates}
+ * system property, evicting the least recently used output first.
+ */
+public final class RenderCache {
+
+    private static final RenderCache INSTANCE = new RenderCache(Integer.getInteger("micronaut.starter.cache.templates", 1024));
+
+    private final Map<Object, byte[]> rendered;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    RenderCache(int maxEntries) {
+        this.rendered = new LinkedHashMap<Object, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static RenderCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Renders the template into memory, reusing a previous rendering if the template has a cache key.
+     *
+     * @param template The template
+     * @return The rendered template
+     * @throws IOException If the template could not be rendered
+     */
+    public ByteArrayTemplate render(Template template) throws IOException {
+        Optional<Object> key = template.getCacheKey();
+        if (!key.isPresent()) {
+            return ByteArrayTemplate.render(template);
+        }
+        byte[] bytes;
+        synchronized (rendered) {
+            bytes = rendered.get(key.get());
+        }
+        if (bytes == null) {
+            misses.increment();
+            bytes = ByteArrayTemplate.render(template).getBytes();
+            synchronized (rendered) {
+                rendered.put(key.get(), bytes);
+            }
+        } else {
+            hits.increment();
+        }
+        return new ByteArrayTemplate(template.getPath(), bytes, template.isExecutable(), template.isBinary());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        synchronized (rendered) {
+            return rendered.size();
+        }
+    }
+}
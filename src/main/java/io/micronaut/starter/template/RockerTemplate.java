@@ -4,7 +4,11 @@ import com.fizzed.rocker.RockerModel;
 import com.fizzed.rocker.runtime.OutputStreamOutput;
 import io.micronaut.starter.OutputHandler;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
 public class RockerTemplate implements Template {
 
@@ -12,24 +16,47 @@ public class RockerTemplate implements Template {
     private final RockerModel delegate;
 
     private final boolean executable;
+    private final List<?> inputs;
 
     public RockerTemplate(String path, RockerModel delegate) {
         this(path, delegate, false);
     }
 
     public RockerTemplate(String path, RockerModel delegate, boolean executable) {
+        this(path, delegate, executable, null);
+    }
+
+    /**
+     * Creates a template whose output depends on nothing but the given inputs, which allows
+     * the rendered output to be reused across generations.
+     *
+     * @param path The path
+     * @param delegate The model
+     * @param executable Whether the file is executable
+     * @param inputs Every value the model reads, or null if the output cannot be reused
+     */
+    public RockerTemplate(String path, RockerModel delegate, boolean executable, List<?> inputs) {
         this.path = path;
         this.delegate = delegate;
         this.executable = executable;
+        this.inputs = inputs;
     }
 
     public void write(OutputHandler outputHandler) {
     }
 
+    /**
+     * Renders the model into a {@link RenderBuffer} first, so that the output stream receives a
+     * single write rather than one per fragment of the template.
+     */
     @Override
-    public void write(OutputStream outputStream) {
-        delegate.render((contentType, charsetName) ->
-                new OutputStreamOutput(contentType, outputStream, charsetName));
+    public void write(OutputStream outputStream) throws IOException {
+        if (outputStream instanceof RenderBuffer) {
+            delegate.render((contentType, charsetName) ->
+                    new OutputStreamOutput(contentType, outputStream, charsetName));
+        } else {
+            RenderBuffer.write(this, outputStream);
+        }
     }
 
     @Override
@@ -41,4 +68,12 @@ public class RockerTemplate implements Template {
     public boolean isExecutable() {
         return executable;
     }
+
+    @Override
+    public Optional<Object> getCacheKey() {
+        if (inputs == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Arrays.asList(delegate.getClass().getName(), inputs));
+    }
 }
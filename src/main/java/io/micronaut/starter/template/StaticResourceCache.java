@@ -0,0 +1,92 @@
+package io.micronaut.starter.template;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the contents of static classpath resources, such as the build tool wrappers, so that
+ * each resource is read only once per JVM. The contents are kept in heap arrays, so they are
+ * written to a stream without an intermediate copy. Entries are never evicted: the resources are
+ * the ones features point {@link URLTemplate}s at, a fixed set of classpath resources of a few
+ * hundred kilobytes in total, so the cache does not grow with the number of projects generated.
+ */
+public final class StaticResourceCache {
+
+    private static final StaticResourceCache INSTANCE = new StaticResourceCache();
+
+    private final ConcurrentMap<String, byte[]> resources = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    StaticResourceCache() {
+    }
+
+    public static StaticResourceCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param url The resource URL
+     * @return A read only view of the resource contents
+     * @throws IOException If the resource could not be read
+     */
+    public ByteBuffer get(URL url) throws IOException {
+        return ByteBuffer.wrap(lookup(url)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the contents of the resource with a single bulk write.
+     *
+     * @param url The resource URL
+     * @param outputStream The output stream
+     * @throws IOException If the resource could not be read or written
+     */
+    public void write(URL url, OutputStream outputStream) throws IOException {
+        outputStream.write(lookup(url));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return resources.size();
+    }
+
+    private byte[] lookup(URL url) throws IOException {
+        // URL.equals and hashCode may resolve host names, so the external form is the key
+        String key = url.toExternalForm();
+        byte[] bytes = resources.get(key);
+        if (bytes != null) {
+            hits.increment();
+            return bytes;
+        }
+        misses.increment();
+        bytes = load(url);
+        byte[] existing = resources.putIfAbsent(key, bytes);
+        return existing != null ? existing : bytes;
+    }
+
+    private byte[] load(URL url) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream inputStream = url.openStream()) {
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, len);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
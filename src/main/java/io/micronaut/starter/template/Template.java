@@ -2,6 +2,7 @@ package io.micronaut.starter.template;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Optional;
 
 public interface Template {
 
@@ -15,5 +16,13 @@ public interface Template {
         return false;
     }
 
+    /**
+     * @return A key identifying the rendered output if it depends only on values captured in
+     * the key, in which case the output may be reused by {@link RenderCache}
+     */
+    default Optional<Object> getCacheKey() {
+        return Optional.empty();
+    }
+
     void write(OutputStream outputStream) throws IOException;
 }
@@ -1,15 +1,19 @@
 package io.micronaut.starter.template;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
 
 public class URLTemplate implements Template {
 
     private final String path;
     private final URL url;
     private final boolean executable;
+    private final Path file;
 
     public URLTemplate(String path, URL url) {
         this(path, url, false);
@@ -19,17 +23,24 @@ public class URLTemplate implements Template {
         this.path = path;
         this.url = url;
         this.executable = executable;
+        this.file = toFile(url);
     }
 
     @Override
     public void write(OutputStream outputStream) throws IOException {
-        try (InputStream inputStream = url.openStream()) {
-            byte[] buffer = new byte[1024];
-            int len;
-            while ((len = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, len);
-            }
-        }
+        StaticResourceCache.getInstance().write(url, outputStream);
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    /**
+     * @return The file the resource is read from, if it is a file on the local file system, as on
+     * an exploded classpath
+     */
+    public Optional<Path> getFile() {
+        return Optional.ofNullable(file);
     }
 
     public boolean isExecutable() {
@@ -40,4 +51,15 @@ public class URLTemplate implements Template {
     public String getPath() {
         return path;
     }
+
+    private static Path toFile(URL url) {
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -1,25 +1,66 @@
 package io.micronaut.starter.template;
 
-import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.Yaml;
-
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
+/**
+ * Writes configuration given as dotted keys, such as {@code micronaut.application.name}, as a
+ * block style YAML document. The keys are sorted once when the template is created so that keys
+ * sharing a prefix are adjacent, keeping the order in which each prefix first appears, and are
+ * then written in a single streaming pass.
+ */
 public class YamlTemplate implements Template {
 
     private static final Pattern DOT_PATTERN = Pattern.compile("\\.");
     private final String path;
-    private final Map<String, Object> config;
+    private final String[][] keys;
+    private final Object[] values;
 
     public YamlTemplate(String path, Map<String, Object> config) {
         this.path = path;
-        this.config = transform(config);
+        List<String[]> keyList = new ArrayList<>(config.size());
+        List<Object> valueList = new ArrayList<>(config.size());
+        flatten(new String[0], config, keyList, valueList);
+
+        // each prefix is ranked by its first appearance and the keys are sorted by the ranks of their prefixes
+        Map<String, Integer> ranks = new HashMap<>();
+        int[][] keyRanks = new int[keyList.size()][];
+        for (int i = 0; i < keyRanks.length; i++) {
+            String[] segments = keyList.get(i);
+            keyRanks[i] = new int[segments.length];
+            StringBuilder prefix = new StringBuilder();
+            for (int j = 0; j < segments.length; j++) {
+                prefix.append(segments[j]).append('.');
+                Integer rank = ranks.get(prefix.toString());
+                if (rank == null) {
+                    rank = ranks.size();
+                    ranks.put(prefix.toString(), rank);
+                }
+                keyRanks[i][j] = rank;
+            }
+        }
+        Integer[] order = new Integer[keyRanks.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(keyRanks[a], keyRanks[b]));
+
+        this.keys = new String[order.length][];
+        this.values = new Object[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = keyList.get(order[i]);
+            values[i] = valueList.get(order[i]);
+            if (i > 0 && startsWith(keys[i], keys[i - 1])) {
+                throw new IllegalArgumentException("The configuration key [" + String.join(".", keys[i - 1])
+                        + "] cannot both have a value and contain [" + String.join(".", keys[i]) + "]");
+            }
+        }
     }
 
     @Override
@@ -29,38 +70,59 @@ public class YamlTemplate implements Template {
 
     @Override
     public void write(OutputStream outputStream) throws IOException {
-        DumperOptions options = new DumperOptions();
-        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-        options.setPrettyFlow(true);
-
-        Yaml yaml = new Yaml(options);
-        yaml.dump(config, new OutputStreamWriter(outputStream));
+        YamlWriter writer = new YamlWriter(outputStream);
+        String[] previous = new String[0];
+        for (int i = 0; i < keys.length; i++) {
+            String[] key = keys[i];
+            int common = 0;
+            while (common < previous.length && common < key.length - 1 && previous[common].equals(key[common])) {
+                common++;
+            }
+            for (int depth = common; depth < key.length - 1; depth++) {
+                writer.key(depth, key[depth]);
+                writer.newLine();
+            }
+            writer.key(key.length - 1, key[key.length - 1]);
+            writer.value(key.length - 1, values[i]);
+            previous = key;
+        }
+        writer.flush();
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> transform(Map<String, Object> config) {
-        Map<String, Object> transformed = new LinkedHashMap<>();
+    private static void flatten(String[] parent, Map<String, Object> config, List<String[]> keys, List<Object> values) {
         for (Map.Entry<String, Object> entry: config.entrySet()) {
-            Map<String, Object> finalMap = transformed;
-            String k = entry.getKey();
+            String[] segments = DOT_PATTERN.split(entry.getKey());
+            String[] key = Arrays.copyOf(parent, parent.length + segments.length);
+            System.arraycopy(segments, 0, key, parent.length, segments.length);
             Object value = entry.getValue();
-            int index = k.indexOf('.');
-            if (index != -1) {
-                String[] keys = DOT_PATTERN.split(k);
-                for (int i = 0; i < keys.length - 1; i++) {
-                    if (!finalMap.containsKey(keys[i])) {
-                        finalMap.put(keys[i], new HashMap<>());
-                    }
-                    Object next = finalMap.get(keys[i]);
-                    if (next instanceof Map) {
-                        finalMap = ((Map<String,Object>) next);
-                    }
-                }
-                finalMap.put(keys[keys.length - 1], value);
+            if (value instanceof Map && !((Map<?, ?>) value).isEmpty()) {
+                flatten(key, (Map<String, Object>) value, keys, values);
             } else {
-                finalMap.put(k, value);
+                keys.add(key);
+                values.add(value);
+            }
+        }
+    }
+
+    private static int compare(int[] a, int[] b) {
+        for (int i = 0; i < a.length && i < b.length; i++) {
+            if (a[i] != b[i]) {
+                return Integer.compare(a[i], b[i]);
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    private static boolean startsWith(String[] key, String[] prefix) {
+        if (prefix.length > key.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (!prefix[i].equals(key[i])) {
+                return false;
             }
         }
-        return transformed;
+        return true;
     }
 }
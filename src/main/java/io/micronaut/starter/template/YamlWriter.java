@@ -0,0 +1,278 @@
+package io.micronaut.starter.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Writes block style YAML as UTF-8 through a buffer that is reused by every writer on the same
+ * thread. Scalars are quoted following the rules of SnakeYAML, so that a string is only written
+ * plain when it would be read back as the same string.
+ */
+final class YamlWriter {
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    // the implicit types of the YAML 1.1 resolver; a plain string matching any of them must be quoted
+    private static final Pattern IMPLICIT = Pattern.compile(
+            "yes|Yes|YES|no|No|NO|true|True|TRUE|false|False|FALSE|on|On|ON|off|Off|OFF"
+            + "|~|null|Null|NULL|<<"
+            + "|[-+]?0b[0-1_]+|[-+]?0[0-7_]+|[-+]?(?:0|[1-9][0-9_]*)|[-+]?0x[0-9a-fA-F_]+|[-+]?[1-9][0-9_]*(?::[0-5]?[0-9])+"
+            + "|[-+]?(?:\\.[0-9]+|[0-9_]+(?:\\.[0-9_]*)?)(?:[eE][-+]?[0-9]+)?|[-+]?[0-9][0-9_]*(?::[0-5]?[0-9])+\\.[0-9_]*"
+            + "|[-+]?\\.(?:inf|Inf|INF)|\\.(?:nan|NaN|NAN)"
+            + "|[0-9]{4}-[0-9]{2}-[0-9]{2}"
+            + "|[0-9]{4}-[0-9]{1,2}-[0-9]{1,2}(?:[Tt]|[ \\t]+)[0-9]{1,2}:[0-9]{2}:[0-9]{2}(?:\\.[0-9]*)?(?:[ \\t]*(?:Z|[-+][0-9]{1,2}(?::[0-9]{2})?))?");
+    private static final String LEADING_INDICATORS = "#,[]{}&*!|>'\"%@`";
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final OutputStream outputStream;
+    private final byte[] buffer;
+    private int position;
+
+    YamlWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.buffer = BUFFER.get();
+    }
+
+    /**
+     * Writes a mapping key followed by a colon, without the value.
+     *
+     * @param depth The nesting depth
+     * @param key The key
+     * @throws IOException If the output could not be written
+     */
+    void key(int depth, String key) throws IOException {
+        indent(depth);
+        scalar(key);
+        write(':');
+    }
+
+    /**
+     * Writes the value of the key written last and ends the line.
+     *
+     * @param depth The nesting depth of the key
+     * @param value The value
+     * @throws IOException If the output could not be written
+     */
+    void value(int depth, Object value) throws IOException {
+        if (value instanceof Map) {
+            if (!((Map<?, ?>) value).isEmpty()) {
+                throw new IllegalArgumentException("Nested mappings must be written as separate keys");
+            }
+            write(' ');
+            emptyFlow(depth, '{', '}');
+        } else if (value instanceof Collection) {
+            Collection<?> items = (Collection<?>) value;
+            if (items.isEmpty()) {
+                write(' ');
+                emptyFlow(depth, '[', ']');
+            } else {
+                newLine();
+                for (Object item: items) {
+                    indent(depth);
+                    write('-');
+                    write(' ');
+                    if (item instanceof Map && ((Map<?, ?>) item).isEmpty()) {
+                        emptyFlow(depth, '{', '}');
+                    } else if (item instanceof Map || item instanceof Collection) {
+                        throw new IllegalArgumentException("Only scalars and empty mappings are supported in sequences");
+                    } else {
+                        scalar(item);
+                        newLine();
+                    }
+                }
+            }
+        } else {
+            write(' ');
+            scalar(value);
+            newLine();
+        }
+    }
+
+    void newLine() throws IOException {
+        write('\n');
+    }
+
+    void flush() throws IOException {
+        outputStream.write(buffer, 0, position);
+        position = 0;
+        outputStream.flush();
+    }
+
+    private void emptyFlow(int depth, char open, char close) throws IOException {
+        write(open);
+        newLine();
+        indent(depth + 1);
+        write(close);
+        newLine();
+    }
+
+    private void indent(int depth) throws IOException {
+        for (int i = 0; i < depth * 2; i++) {
+            write(' ');
+        }
+    }
+
+    private void scalar(Object value) throws IOException {
+        if (value == null) {
+            ascii("null");
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            ascii(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d)) {
+                ascii(".NaN");
+            } else if (Double.isInfinite(d)) {
+                ascii(d > 0 ? ".inf" : "-.inf");
+            } else {
+                ascii(value.toString());
+            }
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof Enum) {
+            string(value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        } else {
+            throw new IllegalArgumentException("Unsupported configuration value type: " + value.getClass().getName());
+        }
+    }
+
+    private void string(String value) throws IOException {
+        if (requiresDoubleQuotes(value)) {
+            doubleQuoted(value);
+        } else if (requiresSingleQuotes(value)) {
+            write('\'');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\'') {
+                    write('\'');
+                }
+                character(value, i);
+                if (Character.isHighSurrogate(c)) {
+                    i++;
+                }
+            }
+            write('\'');
+        } else {
+            for (int i = 0; i < value.length(); i++) {
+                character(value, i);
+                if (Character.isHighSurrogate(value.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+    }
+
+    private static boolean requiresDoubleQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isPrintable(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean requiresSingleQuotes(String value) {
+        if (value.isEmpty()) {
+            return true;
+        }
+        char first = value.charAt(0);
+        char last = value.charAt(value.length() - 1);
+        if (first == ' ' || last == ' ' || last == ':' || LEADING_INDICATORS.indexOf(first) != -1) {
+            return true;
+        }
+        if ((first == '-' || first == '?' || first == ':') && (value.length() == 1 || value.charAt(1) == ' ')) {
+            return true;
+        }
+        if (value.startsWith("---") || value.startsWith("...")) {
+            return true;
+        }
+        return value.contains(": ") || value.contains(" #") || IMPLICIT.matcher(value).matches();
+    }
+
+    private static boolean isPrintable(char c) {
+        return (c >= 0x20 && c <= 0x7E) || (c >= 0xA0 && c <= 0xD7FF && c != 0x2028 && c != 0x2029)
+                || (c >= 0xE000 && c <= 0xFFFD && c != 0xFEFF) || Character.isSurrogate(c);
+    }
+
+    private void doubleQuoted(String value) throws IOException {
+        write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                case '\\':
+                    write('\\');
+                    write(c);
+                    break;
+                case '\t':
+                    ascii("\\t");
+                    break;
+                case '\n':
+                    ascii("\\n");
+                    break;
+                case '\r':
+                    ascii("\\r");
+                    break;
+                case 0:
+                    ascii("\\0");
+                    break;
+                default:
+                    if (isPrintable(c)) {
+                        character(value, i);
+                        if (Character.isHighSurrogate(c)) {
+                            i++;
+                        }
+                    } else if (c <= 0xFF) {
+                        ascii("\\x");
+                        write(HEX[c >> 4]);
+                        write(HEX[c & 0xF]);
+                    } else {
+                        ascii("\\u");
+                        write(HEX[c >> 12]);
+                        write(HEX[(c >> 8) & 0xF]);
+                        write(HEX[(c >> 4) & 0xF]);
+                        write(HEX[c & 0xF]);
+                    }
+            }
+        }
+        write('"');
+    }
+
+    private void ascii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            write(value.charAt(i));
+        }
+    }
+
+    /**
+     * Encodes the character at the given index, or the code point starting there, as UTF-8.
+     */
+    private void character(String value, int index) throws IOException {
+        int c = value.codePointAt(index);
+        if (c < 0x80) {
+            write(c);
+        } else if (c < 0x800) {
+            write(0xC0 | (c >> 6));
+            write(0x80 | (c & 0x3F));
+        } else if (c < 0x10000) {
+            write(0xE0 | (c >> 12));
+            write(0x80 | ((c >> 6) & 0x3F));
+            write(0x80 | (c & 0x3F));
+        } else {
+            write(0xF0 | (c >> 18));
+            write(0x80 | ((c >> 12) & 0x3F));
+            write(0x80 | ((c >> 6) & 0x3F));
+            write(0x80 | (c & 0x3F));
+        }
+    }
+
+    private void write(int b) throws IOException {
+        if (position == buffer.length) {
+            outputStream.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = (byte) b;
+    }
+}
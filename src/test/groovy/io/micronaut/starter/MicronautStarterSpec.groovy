@@ -0,0 +1,22 @@
+package io.micronaut.starter
+
+import io.micronaut.context.BeanContext
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class MicronautStarterSpec extends Specification {
+
+    @Shared @AutoCleanup BeanContext beanContext = BeanContext.run()
+
+    @Unroll
+    void "test commands are created from the bean context for #args"() {
+        expect:
+        MicronautStarter.execute(beanContext, args as String[]) == 0
+        MicronautStarter.execute(beanContext, args as String[]) == 0
+
+        where:
+        args << [["--help"], ["create-app", "--help"], ["serve", "--help"]]
+    }
+}
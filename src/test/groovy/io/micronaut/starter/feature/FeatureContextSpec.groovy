@@ -2,6 +2,7 @@ package io.micronaut.starter.feature
 
 import io.micronaut.context.BeanContext
 import io.micronaut.starter.command.CreateAppCommand
+import io.micronaut.starter.options.BuildTool
 import io.micronaut.starter.options.Language
 import spock.lang.Specification
 
@@ -36,4 +37,32 @@ class FeatureContextSpec extends Specification {
         beanContext.close()
     }
 
+    void "test resolution steps are reported to the listener"() {
+        given:
+        BeanContext beanContext = BeanContext.run()
+        CreateAppCommand.CreateAppFeatures availableFeatures = beanContext.getBean(CreateAppCommand.CreateAppFeatures)
+        List<String> processed = []
+        List<String> added = []
+        FeatureResolutionListener listener = new FeatureResolutionListener() {
+            void featureProcessed(Feature feature) {
+                processed << feature.name
+            }
+
+            void featureAdded(Feature feature) {
+                added << feature.name
+            }
+        }
+
+        when:
+        FeatureContext ctx = new FeatureContext(Language.java, null, BuildTool.gradle, availableFeatures, [availableFeatures.findFeature("swagger").get()], listener)
+        ctx.processSelectedFeatures()
+
+        then:
+        processed.containsAll(["java", "gradle", "swagger"])
+        processed.containsAll(added)
+        added.contains("junit")
+
+        cleanup:
+        beanContext.close()
+    }
 }
@@ -0,0 +1,60 @@
+package io.micronaut.starter.feature
+
+import io.micronaut.context.BeanContext
+import io.micronaut.starter.command.CreateAppCommand
+import io.micronaut.starter.command.FeatureCandidates
+import io.micronaut.starter.command.MicronautCommand
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class FeatureIndexSpec extends Specification {
+
+    @Shared @AutoCleanup BeanContext beanContext = BeanContext.run()
+
+    void "test the index can be written and read back"() {
+        given:
+        Path dir = Files.createTempDirectory("index")
+        Path file = dir.resolve(FeatureIndex.RESOURCE)
+
+        when:
+        FeatureIndex.main(file.toString())
+        FeatureIndex index = FeatureIndex.load(new URLClassLoader([dir.toUri().toURL()] as URL[], (ClassLoader) null)).get()
+        FeatureIndex.Entry logback = index.entries.find { it.name == "logback" }
+        FeatureIndex.Entry java = index.entries.find { it.name == "java" }
+
+        then:
+        index.entries.size() == beanContext.getBeansOfType(Feature).size()
+        logback.className == "io.micronaut.starter.feature.logging.Logback"
+        logback.defaultFeature
+        logback.supports(MicronautCommand.CREATE_APP)
+        !java.visible
+        index.getVisibleNames(MicronautCommand.CREATE_APP) as Set == beanContext.getBean(CreateAppCommand.CreateAppFeatures).toList() as Set
+
+        cleanup:
+        dir.toFile().deleteDir()
+    }
+
+    void "test completion candidates fall back to the feature beans without an index"() {
+        given:
+        ClassLoader empty = new URLClassLoader(new URL[0], (ClassLoader) null)
+
+        expect:
+        !FeatureIndex.load(empty).isPresent()
+        new FeatureCandidates(empty).toList() as Set == beanContext.getBean(CreateAppCommand.CreateAppFeatures).toList() as Set
+    }
+
+    @Requires({ FeatureIndex.load(FeatureIndexSpec.classLoader).isPresent() })
+    void "test completion candidates are read from the index on the classpath"() {
+        given:
+        FeatureIndex index = FeatureIndex.load(getClass().classLoader).get()
+
+        expect:
+        new FeatureCandidates().toList() == index.getVisibleNames(MicronautCommand.CREATE_APP)
+        new FeatureCandidates().toList() as Set == beanContext.getBean(CreateAppCommand.CreateAppFeatures).toList() as Set
+    }
+}
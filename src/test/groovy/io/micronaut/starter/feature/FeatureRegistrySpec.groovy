@@ -0,0 +1,62 @@
+package io.micronaut.starter.feature
+
+import io.micronaut.context.BeanContext
+import io.micronaut.starter.command.CreateAppCommand
+import io.micronaut.starter.command.MicronautCommand
+import io.micronaut.starter.feature.validation.CompositeFeatureValidator
+import io.micronaut.starter.options.Language
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class FeatureRegistrySpec extends Specification {
+
+    @Shared @AutoCleanup BeanContext beanContext = BeanContext.run()
+
+    void "test features are only created when they are looked up"() {
+        given:
+        List<Feature> all = new ArrayList<>(beanContext.getBeansOfType(Feature))
+        List<String> created = []
+        FeatureRegistry registry = new FeatureRegistry(FeatureIndex.of(all), { String className ->
+            created << className
+            all.find { it.class.name == className }
+        })
+        AvailableFeatures availableFeatures = new CreateAppCommand.CreateAppFeatures(registry)
+
+        expect:
+        availableFeatures.toList() as Set == beanContext.getBean(CreateAppCommand.CreateAppFeatures).toList() as Set
+        created.empty
+
+        when:
+        Feature swagger = availableFeatures.findFeature("swagger").get()
+        availableFeatures.findFeature("swagger")
+
+        then:
+        swagger.name == "swagger"
+        created == [swagger.class.name]
+
+        when:
+        created.clear()
+        List<DefaultFeature> defaults = availableFeatures.getDefaultFeatures().collect()
+
+        then:
+        !defaults.empty
+        created as Set == defaults.collect { it.class.name } as Set
+        !created.contains(all.find { it.name == "spock" }.class.name)
+    }
+
+    void "test the validator does not create any feature"() {
+        given:
+        List<Feature> all = new ArrayList<>(beanContext.getBeansOfType(Feature))
+        FeatureRegistry registry = new FeatureRegistry(FeatureIndex.of(all), { String className ->
+            throw new AssertionError("created " + className)
+        })
+
+        when:
+        new CompositeFeatureValidator([], registry)
+                .validate(Language.java, all.findAll { it.supports(MicronautCommand.CREATE_APP) && it.name in ["java", "netty-server", "logback"] })
+
+        then:
+        noExceptionThrown()
+    }
+}
@@ -1,8 +1,13 @@
 package io.micronaut.starter.feature
 
 import io.micronaut.context.BeanContext
+import io.micronaut.starter.command.CreateAppCommand
+import io.micronaut.starter.generator.GenerationRequest
+import io.micronaut.starter.generator.ProjectGenerator
+import io.micronaut.starter.options.BuildTool
 import io.micronaut.starter.options.Language
 import spock.lang.Specification
+import io.micronaut.starter.feature.validation.CompositeFeatureValidator
 import io.micronaut.starter.feature.validation.FeatureValidator
 
 class FeatureValidatorSpec extends Specification {
@@ -66,4 +71,79 @@ class FeatureValidatorSpec extends Specification {
         ctx.close()
     }
 
+    void "test known features are validated with the same messages"() {
+        given:
+        BeanContext ctx = BeanContext.run()
+        FeatureValidator featureValidator = ctx.getBean(FeatureValidator)
+        AvailableFeatures availableFeatures = ctx.getBean(CreateAppCommand.CreateAppFeatures)
+
+        when:
+        featureValidator.validate(Language.kotlin, ["kotlin", "gradle", "netty-server", "logback", "jdbc-hikari"].collect { availableFeatures.findFeature(it, true).get() })
+
+        then:
+        noExceptionThrown()
+
+        when:
+        featureValidator.validate(Language.java, ["java", "netty-server", "jetty-server"].collect { availableFeatures.findFeature(it, true).get() })
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.message == "There can only be one of the following features selected: [netty-server, jetty-server]"
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test valid known features do not run the individual validators"() {
+        given:
+        BeanContext ctx = BeanContext.run()
+        AvailableFeatures availableFeatures = ctx.getBean(CreateAppCommand.CreateAppFeatures)
+        int calls = 0
+        FeatureValidator counting = { Language language, List<Feature> features -> calls++ } as FeatureValidator
+        FeatureValidator featureValidator = new CompositeFeatureValidator([counting], ctx.getBean(FeatureRegistry))
+
+        when:
+        featureValidator.validate(Language.kotlin, ["kotlin", "gradle", "netty-server", "logback", "jdbc-hikari"].collect { availableFeatures.findFeature(it, true).get() })
+
+        then:
+        calls == 0
+
+        when:
+        featureValidator.validate(Language.java, ["java", "netty-server", "jetty-server"].collect { availableFeatures.findFeature(it, true).get() })
+
+        then:
+        calls == 1
+
+        when:
+        featureValidator.validate(Language.java, [new Feature() {
+            String name = "unknown"
+        }])
+
+        then:
+        calls == 2
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test generating a project only takes the fast path"() {
+        given:
+        BeanContext ctx = BeanContext.run()
+        int calls = 0
+        FeatureValidator counting = { Language language, List<Feature> features -> calls++ } as FeatureValidator
+        ProjectGenerator generator = new ProjectGenerator(ctx.getBean(CreateAppCommand.CreateAppFeatures),
+                new CompositeFeatureValidator([counting], ctx.getBean(FeatureRegistry)))
+
+        when:
+        generator.resolve(new GenerationRequest("foo", lang, BuildTool.gradle, null, ["jdbc-hikari", "swagger"]))
+
+        then:
+        calls == 0
+
+        cleanup:
+        ctx.close()
+
+        where:
+        lang << Language.values()
+    }
 }
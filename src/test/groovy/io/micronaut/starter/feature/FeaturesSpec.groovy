@@ -0,0 +1,47 @@
+package io.micronaut.starter.feature
+
+import io.micronaut.starter.feature.graalvm.GraalNativeImage
+import io.micronaut.starter.feature.lang.LanguageFeature
+import io.micronaut.starter.feature.lang.java.JavaApplication
+import io.micronaut.starter.feature.test.Junit
+import io.micronaut.starter.feature.test.TestFeature
+import io.micronaut.starter.fixture.FeatureFixture
+import spock.lang.Specification
+
+class FeaturesSpec extends Specification implements FeatureFixture {
+
+    void "test features behave as an immutable list of names"() {
+        when:
+        Features features = buildJavaWithFeatures(new GraalNativeImage())
+
+        then:
+        features == ["java", "junit", "graal-native-image"]
+        features.toString() == "[java, junit, graal-native-image]"
+        features.contains("graal-native-image")
+        !features.contains("spock")
+        !features.contains("not-a-feature")
+        !features.contains(null)
+        features.stream().anyMatch { it.startsWith("graal") }
+
+        when:
+        features.add("spock")
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    void "test features are looked up by capability"() {
+        given:
+        JavaApplication application = new JavaApplication()
+        Features features = buildJavaWithFeatures(application)
+
+        expect:
+        features.language().name == "java"
+        features.get(LanguageFeature) instanceof LanguageFeature
+        features.testFramework() instanceof Junit
+        features.get(TestFeature).is(features.testFramework())
+        features.application().is(application)
+        features.get(Feature).name == "java"
+        features.get(Runnable) == null
+    }
+}
@@ -0,0 +1,127 @@
+package io.micronaut.starter.generator
+
+import io.micronaut.context.BeanContext
+import io.micronaut.starter.OutputHandler
+import io.micronaut.starter.feature.FeaturePlan
+import io.micronaut.starter.options.BuildTool
+import io.micronaut.starter.options.Language
+import io.micronaut.starter.template.Template
+import io.micronaut.starter.util.NameUtils
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ArchiveCacheSpec extends Specification {
+
+    @Shared @AutoCleanup BeanContext beanContext = BeanContext.run()
+
+    void "test the key distinguishes projects"() {
+        given:
+        ProjectGenerator generator = beanContext.getBean(ProjectGenerator)
+
+        expect:
+        key(generator, "foo", Language.java, ["jdbc-hikari"]) == key(generator, "foo", Language.java, ["jdbc-hikari"])
+        key(generator, "foo", Language.java, ["jdbc-hikari"]) != key(generator, "foo", Language.java, ["jdbc-hikari", "swagger"])
+        key(generator, "foo", Language.java, []) != key(generator, "bar", Language.java, [])
+        key(generator, "foo", Language.java, []) != key(generator, "foo", Language.kotlin, [])
+        key(generator, "foo", Language.java, []) ==~ /[0-9a-f]{64}/
+    }
+
+    void "test a cached archive is identical to a fresh generation"() {
+        given:
+        ProjectGenerator generator = beanContext.getBean(ProjectGenerator)
+        ArchiveCache cache = new ArchiveCache(1024 * 1024, null)
+        List<List<String>> selections = [
+                ["jdbc-hikari", "swagger"],
+                ["swagger", "jdbc-hikari"],
+                ["jdbc-hikari", "swagger"],
+                ["swagger", "jdbc-hikari"]
+        ]
+
+        expect:
+        selections.every { List<String> features ->
+            GenerationRequest request = new GenerationRequest(NameUtils.parse("foo"), Language.java, BuildTool.gradle, null, features)
+            FeaturePlan plan = generator.resolve(request)
+            String key = ArchiveCache.key(request.project, plan)
+            byte[] archive = generate(generator, request, plan)
+            byte[] cached = cache.get(key).orElse(null)
+            if (cached == null) {
+                cache.put(key, archive)
+                return true
+            }
+            cached == archive
+        }
+        cache.hits == 2
+        cache.misses == 2
+    }
+
+    void "test least recently used archives are evicted"() {
+        given:
+        ArchiveCache cache = new ArchiveCache(10, null)
+
+        when:
+        cache.put("a", new byte[4])
+        cache.put("b", new byte[4])
+        cache.get("a")
+        cache.put("c", new byte[4])
+        cache.put("d", new byte[11])
+
+        then:
+        cache.get("a").isPresent()
+        !cache.get("b").isPresent()
+        cache.get("c").isPresent()
+        !cache.get("d").isPresent()
+        cache.size == 8
+        cache.hits == 3
+        cache.misses == 2
+        cache.evictions == 1
+    }
+
+    void "test archives are read back from the disk tier"() {
+        given:
+        Path dir = Files.createTempDirectory("archives")
+        byte[] archive = [1, 2, 3] as byte[]
+
+        when:
+        new ArchiveCache(10, dir).put("a", archive)
+        ArchiveCache cache = new ArchiveCache(10, dir)
+
+        then:
+        cache.get("a").get() == archive
+        cache.size == 3
+        cache.hits == 1
+        !cache.get("b").isPresent()
+
+        cleanup:
+        dir.toFile().deleteDir()
+    }
+
+    /**
+     * Writes every file with its path in generation order, which is what an archive is made of
+     * apart from the timestamps.
+     */
+    private static byte[] generate(ProjectGenerator generator, GenerationRequest request, FeaturePlan plan) {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream()
+        generator.generate(request.project, plan, new OutputHandler() {
+            @Override
+            void write(String path, Template contents) throws IOException {
+                archive.write(path.getBytes(StandardCharsets.UTF_8))
+                contents.write(archive)
+            }
+
+            @Override
+            void close() {
+            }
+        })
+        archive.toByteArray()
+    }
+
+    private static String key(ProjectGenerator generator, String name, Language lang, List<String> features) {
+        GenerationRequest request = new GenerationRequest(NameUtils.parse(name), lang, BuildTool.gradle, null, features)
+        ArchiveCache.key(request.project, generator.resolve(request))
+    }
+}
@@ -0,0 +1,154 @@
+package io.micronaut.starter.generator
+
+import io.micronaut.context.BeanContext
+import io.micronaut.starter.command.CommandContext
+import io.micronaut.starter.feature.Feature
+import io.micronaut.starter.feature.FeaturePlan
+import io.micronaut.starter.feature.FeatureResolutionListener
+import io.micronaut.starter.io.GeneratedProject
+import io.micronaut.starter.io.InMemoryOutputHandler
+import io.micronaut.starter.options.BuildTool
+import io.micronaut.starter.options.Language
+import io.micronaut.starter.util.NameUtils
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
+class ProjectGeneratorSpec extends Specification {
+
+    @Shared @AutoCleanup BeanContext beanContext = BeanContext.run()
+
+    void "test a single generator can be used concurrently"() {
+        given:
+        ProjectGenerator generator = beanContext.getBean(ProjectGenerator)
+        ExecutorService executor = Executors.newFixedThreadPool(4)
+        List<Language> languages = (1..24).collect { Language.values()[it % Language.values().length] }
+
+        when:
+        List<Future<Map<String, String>>> results = languages.collect { lang ->
+            executor.submit({ ->
+                InMemoryOutputHandler outputHandler = new InMemoryOutputHandler()
+                generator.generate(new GenerationRequest("example.micronaut.foo", lang, BuildTool.gradle, null, []), outputHandler)
+                GeneratedProject project = outputHandler.project
+                project.paths.collectEntries { [(it): StandardCharsets.UTF_8.decode(project.getContents(it).get()).toString()] }
+            } as Callable)
+        }
+
+        then:
+        results.eachWithIndex { Future<Map<String, String>> result, int i ->
+            Map<String, String> files = result.get()
+            assert files['micronaut-cli.yml'].contains("sourceLanguage: ${languages[i].name()}")
+            assert files.keySet().any { it.startsWith("src/main/${languages[i].name()}/example/micronaut/Application") }
+        }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    void "test parallel rendering writes files in a deterministic order"() {
+        given:
+        ProjectGenerator generator = beanContext.getBean(ProjectGenerator)
+        GenerationRequest request = new GenerationRequest("example.micronaut.foo", Language.java, BuildTool.maven, null, ["graal-native-image"])
+
+        when:
+        GeneratedProject first = generate(generator, request)
+        GeneratedProject second = generate(generator, request)
+
+        then:
+        first.paths.first() == "micronaut-cli.yml"
+        first.paths == second.paths
+        first.paths.every { first.getContents(it).get() == second.getContents(it).get() }
+    }
+
+    void "test the request is immutable"() {
+        given:
+        List<String> features = ["graal-native-image"]
+        GenerationRequest request = new GenerationRequest("foo", null, null, null, features)
+
+        when:
+        features.add("swagger")
+
+        then:
+        request.features == ["graal-native-image"]
+
+        when:
+        request.features.add("swagger")
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    void "test resolved feature plans are reused"() {
+        given:
+        ProjectGenerator generator = beanContext.getBean(ProjectGenerator)
+
+        when:
+        FeaturePlan plan = generator.resolve(new GenerationRequest("foo", Language.groovy, BuildTool.maven, null, ["swagger"]))
+
+        then:
+        plan.is(generator.resolve(new GenerationRequest("bar", Language.groovy, BuildTool.maven, null, ["swagger"])))
+        !plan.is(generator.resolve(new GenerationRequest("foo", Language.groovy, BuildTool.gradle, null, ["swagger"])))
+        plan.language == Language.groovy
+        plan.buildTool == BuildTool.maven
+        plan.features*.name.containsAll(["groovy", "maven", "swagger"])
+        plan.featureNames == plan.features*.name
+        new CommandContext(plan, NameUtils.parse("foo")).features.is(plan.featureNames)
+        new CommandContext(plan, NameUtils.parse("bar")).features.is(plan.featureNames)
+
+        when:
+        plan.features.clear()
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        generator.resolve(new GenerationRequest("foo", null, null, null, ["xyz"]))
+
+        then:
+        IllegalArgumentException e = thrown()
+        e.message == "The requested feature does not exist: xyz"
+    }
+
+    void "test a listener is sent the same events when the plan is reused"() {
+        given:
+        ProjectGenerator generator = beanContext.getBean(ProjectGenerator)
+        List<String> first = []
+        List<String> second = []
+
+        when:
+        generate(generator, new GenerationRequest(NameUtils.parse("foo"), Language.kotlin, BuildTool.maven, null, ["swagger"], listener(first)))
+        FeaturePlan plan = generator.resolve(new GenerationRequest(NameUtils.parse("foo"), Language.kotlin, BuildTool.maven, null, ["swagger"], listener(second)))
+
+        then:
+        first.contains("processed swagger")
+        first.contains("added application")
+        second == first
+        plan.is(generator.resolve(new GenerationRequest("foo", Language.kotlin, BuildTool.maven, null, ["swagger"])))
+    }
+
+    private static FeatureResolutionListener listener(List<String> events) {
+        new FeatureResolutionListener() {
+            @Override
+            void featureProcessed(Feature feature) {
+                events << "processed " + feature.name
+            }
+
+            @Override
+            void featureAdded(Feature feature) {
+                events << "added " + feature.name
+            }
+        }
+    }
+
+    private GeneratedProject generate(ProjectGenerator generator, GenerationRequest request) {
+        InMemoryOutputHandler outputHandler = new InMemoryOutputHandler()
+        generator.generate(request, outputHandler)
+        outputHandler.project
+    }
+}
@@ -0,0 +1,53 @@
+package io.micronaut.starter.io
+
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ForkJoinPool
+
+class AsyncIOSpec extends Specification {
+
+    void "test the exception a task failed with is rethrown"() {
+        when:
+        AsyncIO.join(AsyncIO.supplyAsync({ throw new IOException("io") } as AsyncIO.IOSupplier, ForkJoinPool.commonPool()))
+
+        then:
+        IOException e = thrown()
+        e.message == "io"
+
+        when:
+        AsyncIO.joinAll([CompletableFuture.completedFuture(1), AsyncIO.supplyAsync({ throw new IllegalStateException("state") } as AsyncIO.IOSupplier, ForkJoinPool.commonPool())])
+
+        then:
+        IllegalStateException ise = thrown()
+        ise.message == "state"
+    }
+
+    void "test results are consumed in submission order"() {
+        given:
+        List<Integer> consumed = []
+        AsyncIO.OrderedQueue<Integer> queue = new AsyncIO.OrderedQueue<>({ Integer i -> consumed << i } as AsyncIO.IOConsumer)
+
+        when:
+        queue.add(0)
+
+        then:
+        consumed == [0]
+
+        when:
+        (1..50).each { int i ->
+            if (i % 10 == 0) {
+                queue.add(i)
+            } else {
+                queue.submit({ ->
+                    Thread.sleep((50 - i) % 3)
+                    i
+                } as AsyncIO.IOSupplier)
+            }
+        }
+        queue.drain()
+
+        then:
+        consumed == (0..50).toList()
+    }
+}
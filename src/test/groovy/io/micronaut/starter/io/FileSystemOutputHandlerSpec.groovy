@@ -0,0 +1,170 @@
+package io.micronaut.starter.io
+
+import io.micronaut.starter.template.BinaryTemplate
+import io.micronaut.starter.template.ByteArrayTemplate
+import io.micronaut.starter.template.Template
+import io.micronaut.starter.template.URLTemplate
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.PosixFilePermission
+
+class FileSystemOutputHandlerSpec extends Specification {
+
+    Path parent = Files.createTempDirectory("projects")
+
+    void cleanup() {
+        parent.toFile().deleteDir()
+    }
+
+    void "test a new project appears only once every file has been written"() {
+        given:
+        Path dir = parent.resolve("foo")
+        FileSystemOutputHandler handler = new FileSystemOutputHandler(dir.toFile(), null)
+
+        when:
+        handler.write("build.gradle", new ByteArrayTemplate("build.gradle", "build".bytes))
+        handler.write("src/main/java/foo/Application.java", new ByteArrayTemplate("Application.java", "class".bytes))
+        handler.write("src/test/java/foo/ApplicationTest.java", new ByteArrayTemplate("ApplicationTest.java", "test".bytes))
+
+        then:
+        !Files.exists(dir)
+
+        when:
+        handler.close()
+
+        then:
+        dir.resolve("build.gradle").text == "build"
+        dir.resolve("src/main/java/foo/Application.java").text == "class"
+        dir.resolve("src/test/java/foo/ApplicationTest.java").text == "test"
+        Files.list(parent).count() == 1
+    }
+
+    @Requires({ java.nio.file.FileSystems.default.supportedFileAttributeViews().contains("posix") })
+    void "test executable files are created executable"() {
+        given:
+        Path dir = parent.resolve("foo")
+        FileSystemOutputHandler handler = new FileSystemOutputHandler(dir.toFile(), null)
+
+        when:
+        handler.write("gradlew", new ByteArrayTemplate("gradlew", "#!/bin/sh".bytes, true, false))
+        handler.write("README", new ByteArrayTemplate("README", "readme".bytes))
+        handler.close()
+
+        then:
+        Files.getPosixFilePermissions(dir.resolve("gradlew")).contains(PosixFilePermission.OWNER_EXECUTE)
+        !Files.getPosixFilePermissions(dir.resolve("README")).contains(PosixFilePermission.OWNER_EXECUTE)
+    }
+
+    void "test a failure leaves no partial project behind"() {
+        given:
+        Path dir = parent.resolve("foo")
+        FileSystemOutputHandler handler = new FileSystemOutputHandler(dir.toFile(), null)
+        handler.write("build.gradle", new ByteArrayTemplate("build.gradle", "build".bytes))
+        handler.write("broken", new Template() {
+            String path = "broken"
+
+            void write(OutputStream outputStream) throws IOException {
+                throw new IOException("broken")
+            }
+        })
+
+        when:
+        handler.close()
+
+        then:
+        def e = thrown(IOException)
+        e.message == "broken"
+        Files.list(parent).count() == 0
+    }
+
+    void "test files are written in place into an existing directory"() {
+        given:
+        Files.write(parent.resolve("build.gradle"), "old".bytes)
+        Files.write(parent.resolve("other"), "other".bytes)
+        FileSystemOutputHandler handler = new FileSystemOutputHandler(parent.toFile(), null)
+
+        when:
+        handler.write("build.gradle", new ByteArrayTemplate("build.gradle", "new".bytes))
+        handler.close()
+
+        then:
+        parent.resolve("build.gradle").text == "new"
+        parent.resolve("other").text == "other"
+    }
+
+    void "test static resources on an exploded classpath are copied from their files"() {
+        given:
+        URL jar = getClass().classLoader.getResource("gradle/wrapper/gradle-wrapper.jar")
+        URLTemplate template = new BinaryTemplate("gradle/wrapper/gradle-wrapper.jar", jar)
+        Path dir = parent.resolve("foo")
+        FileSystemOutputHandler handler = new FileSystemOutputHandler(dir.toFile(), null)
+
+        when:
+        handler.write(template.path, template)
+        handler.close()
+
+        then:
+        template.file.isPresent()
+        dir.resolve("gradle/wrapper/gradle-wrapper.jar").bytes == jar.bytes
+    }
+
+    void "test files are written on dedicated threads rather than the common pool"() {
+        given:
+        Path dir = parent.resolve("foo")
+        FileSystemOutputHandler handler = new FileSystemOutputHandler(dir.toFile(), null)
+        List<String> threads = [].asSynchronized()
+
+        when:
+        (1..8).each { i ->
+            handler.write("file" + i, new Template() {
+                String path = "file" + i
+
+                void write(OutputStream outputStream) throws IOException {
+                    threads << Thread.currentThread().name
+                    outputStream.write(i)
+                }
+            })
+        }
+        handler.close()
+
+        then:
+        threads.size() == 8
+        threads.every { it.startsWith("file-writer-") }
+        dir.resolve("file3").bytes == [3] as byte[]
+    }
+
+    @Requires({ java.nio.file.FileSystems.default.supportedFileAttributeViews().contains("posix") })
+    void "test a directory created at the target while writing is not replaced"() {
+        given:
+        Path dir = parent.resolve("foo")
+        FileSystemOutputHandler handler = new FileSystemOutputHandler(dir.toFile(), null)
+        handler.write("build.gradle", new ByteArrayTemplate("build.gradle", "build".bytes))
+        Files.createDirectory(dir)
+
+        when:
+        handler.close()
+
+        then:
+        thrown(IllegalArgumentException)
+        Files.isDirectory(dir)
+        Files.list(dir).count() == 0
+        Files.list(parent).count() == 1
+    }
+
+    void "test nested directories are all created"() {
+        given:
+        Path dir = parent.resolve("foo")
+        FileSystemOutputHandler handler = new FileSystemOutputHandler(dir.toFile(), null)
+        List<String> paths = ["a/b/c/1", "a/b/2", "a/b-c/3", "a/bc/4", "a/5", "6", "d/e/f/g/7"]
+
+        when:
+        paths.each { handler.write(it, new ByteArrayTemplate(it, it.bytes)) }
+        handler.close()
+
+        then:
+        paths.every { dir.resolve(it).text == it }
+    }
+}
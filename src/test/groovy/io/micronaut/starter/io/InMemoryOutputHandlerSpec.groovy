@@ -0,0 +1,83 @@
+package io.micronaut.starter.io
+
+import io.micronaut.starter.feature.build.gitignore
+import io.micronaut.starter.template.RockerTemplate
+import io.micronaut.starter.template.URLTemplate
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.ZipEntry
+import java.util.zip.ZipInputStream
+
+class InMemoryOutputHandlerSpec extends Specification {
+
+    void "test files are collected into an immutable project"() {
+        given:
+        URL gradlew = Thread.currentThread().contextClassLoader.getResource("gradle/gradlew")
+        InMemoryOutputHandler handler = new InMemoryOutputHandler()
+
+        when:
+        handler.write(".gitignore", new RockerTemplate(".gitignore", gitignore.template()))
+        handler.write("gradlew", new URLTemplate("gradlew", gradlew, true))
+        handler.project
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        handler.close()
+        GeneratedProject project = handler.project
+
+        then:
+        project.paths == [".gitignore", "gradlew"]
+        project.size() == 2
+        project.isExecutable("gradlew")
+        !project.isExecutable(".gitignore")
+        toBytes(project.getContents("gradlew").get()) == gradlew.bytes
+        new String(toBytes(project.getContents(".gitignore").get()), "UTF-8").contains("build/")
+        !project.getContents("missing").isPresent()
+
+        when:
+        handler.write("other", new RockerTemplate("other", gitignore.template()))
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    void "test a project can be serialized many times"() {
+        given:
+        InMemoryOutputHandler handler = new InMemoryOutputHandler()
+        handler.write(".gitignore", new RockerTemplate(".gitignore", gitignore.template()))
+        handler.write("settings.gradle", new RockerTemplate("settings.gradle", gitignore.template()))
+        handler.close()
+        GeneratedProject project = handler.project
+        Path dir = Files.createTempDirectory("project")
+
+        when:
+        ByteArrayOutputStream zip = new ByteArrayOutputStream()
+        project.writeTo(new ZipOutputHandler(zip))
+        project.writeTo(new FileSystemOutputHandler(dir.toFile(), null))
+        List<String> names = []
+        new ZipInputStream(new ByteArrayInputStream(zip.toByteArray())).withCloseable { zis ->
+            ZipEntry entry
+            while ((entry = zis.nextEntry) != null) {
+                names << entry.name
+            }
+        }
+
+        then:
+        names == [".gitignore", "settings.gradle"]
+        dir.resolve(".gitignore").bytes == toBytes(project.getContents(".gitignore").get())
+        dir.resolve("settings.gradle").bytes == toBytes(project.getContents("settings.gradle").get())
+
+        cleanup:
+        dir.toFile().deleteDir()
+    }
+
+    private static byte[] toBytes(java.nio.ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()]
+        buffer.get(bytes)
+        bytes
+    }
+}
@@ -0,0 +1,101 @@
+package io.micronaut.starter.io
+
+import io.micronaut.starter.template.BinaryTemplate
+import io.micronaut.starter.template.ByteArrayTemplate
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.GZIPInputStream
+
+class TarGzOutputHandlerSpec extends Specification {
+
+    @Unroll
+    void "test files are archived with their modes when parallel=#parallel"() {
+        given:
+        ByteArrayOutputStream archive = new ByteArrayOutputStream()
+        TarGzOutputHandler handler = new TarGzOutputHandler(archive, 6, parallel)
+        String longPath = "src/main/java/" + ("a" * 60) + "/" + ("b" * 60) + "/Application.java"
+        byte[] large = new byte[ParallelGzipOutputStream.BLOCK_SIZE * 3 + 17]
+        new Random(1).nextBytes(large)
+        URL jar = getClass().classLoader.getResource("gradle/wrapper/gradle-wrapper.jar")
+
+        when:
+        handler.write("gradlew", new ByteArrayTemplate("gradlew", "#!/bin/sh".bytes, true, false))
+        handler.write(longPath, new ByteArrayTemplate("Application.java", "class Application {}".bytes))
+        handler.write("large.bin", new ByteArrayTemplate("large.bin", large, false, true))
+        handler.write("gradle/wrapper/gradle-wrapper.jar", new BinaryTemplate("gradle/wrapper/gradle-wrapper.jar", jar))
+        handler.close()
+        Map<String, Map> entries = read(archive.toByteArray())
+
+        then:
+        entries.keySet().toList() == ["gradlew", longPath, "large.bin", "gradle/wrapper/gradle-wrapper.jar"]
+        entries.gradlew.mode == 0755
+        new String(entries.gradlew.data) == "#!/bin/sh"
+        entries[longPath].mode == 0644
+        new String(entries[longPath].data) == "class Application {}"
+        entries["large.bin"].data == large
+        entries["gradle/wrapper/gradle-wrapper.jar"].data == jar.bytes
+
+        where:
+        parallel << [false, true]
+    }
+
+    void "test an empty archive is a valid gzip stream"() {
+        given:
+        ByteArrayOutputStream archive = new ByteArrayOutputStream()
+
+        when:
+        new TarGzOutputHandler(archive, 1, true).close()
+
+        then:
+        read(archive.toByteArray()).isEmpty()
+    }
+
+    void "test paths that cannot be split are rejected"() {
+        given:
+        TarGzOutputHandler handler = new TarGzOutputHandler(new ByteArrayOutputStream())
+
+        when:
+        handler.write("a" * 101, new ByteArrayTemplate("a", "a".bytes))
+
+        then:
+        thrown(IOException)
+    }
+
+    private static Map<String, Map> read(byte[] archive) {
+        Map<String, Map> entries = [:]
+        DataInputStream input = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(archive)))
+        byte[] header = new byte[512]
+        while (true) {
+            input.readFully(header)
+            if (header.every { it == 0 }) {
+                break
+            }
+            assert new String(header, 257, 6, StandardCharsets.US_ASCII) == "ustar\0"
+            long checksum = 0
+            header.eachWithIndex { byte b, int i -> checksum += (i >= 148 && i < 156) ? 32 : (b & 0xFF) }
+            assert checksum == octal(header, 148, 7)
+            String name = field(header, 0, 100)
+            String prefix = field(header, 345, 155)
+            int size = (int) octal(header, 124, 12)
+            byte[] data = new byte[size]
+            input.readFully(data)
+            input.skipBytes((512 - size % 512) % 512)
+            entries[prefix ? prefix + "/" + name : name] = [mode: (int) octal(header, 100, 8), data: data]
+        }
+        entries
+    }
+
+    private static String field(byte[] header, int offset, int length) {
+        int end = offset
+        while (end < offset + length && header[end] != 0) {
+            end++
+        }
+        new String(header, offset, end - offset, StandardCharsets.UTF_8)
+    }
+
+    private static long octal(byte[] header, int offset, int length) {
+        Long.parseLong(field(header, offset, length).trim(), 8)
+    }
+}
@@ -0,0 +1,144 @@
+package io.micronaut.starter.io
+
+import io.micronaut.starter.template.BinaryTemplate
+import io.micronaut.starter.template.ByteArrayTemplate
+import io.micronaut.starter.template.RockerTemplate
+import io.micronaut.starter.feature.build.gitignore
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+import java.util.zip.ZipInputStream
+
+class ZipOutputHandlerSpec extends Specification {
+
+    void "test the archive can be read by the JDK"() {
+        given:
+        URL wrapperJar = Thread.currentThread().contextClassLoader.getResource("gradle/wrapper/gradle-wrapper.jar")
+        ByteArrayOutputStream baos = new ByteArrayOutputStream()
+        ZipOutputHandler handler = new ZipOutputHandler(baos)
+
+        when:
+        handler.write("gradle/wrapper/gradle-wrapper.jar", new BinaryTemplate("gradle/wrapper/gradle-wrapper.jar", wrapperJar))
+        handler.write(".gitignore", new RockerTemplate(".gitignore", gitignore.template()))
+        handler.write("src/main/resources/ünïcode.txt", new RockerTemplate("ünïcode.txt", gitignore.template()))
+        handler.close()
+        Map<String, byte[]> entries = [:]
+        new ZipInputStream(new ByteArrayInputStream(baos.toByteArray())).withCloseable { zip ->
+            ZipEntry entry
+            while ((entry = zip.nextEntry) != null) {
+                ByteArrayOutputStream contents = new ByteArrayOutputStream()
+                contents << zip
+                entries[entry.name] = contents.toByteArray()
+            }
+        }
+
+        then:
+        entries.keySet() as List == ["gradle/wrapper/gradle-wrapper.jar", ".gitignore", "src/main/resources/ünïcode.txt"]
+        entries["gradle/wrapper/gradle-wrapper.jar"] == wrapperJar.bytes
+        new String(entries[".gitignore"], "UTF-8").contains("build/")
+
+        when:
+        Path file = Files.createTempFile("archive", ".zip")
+        file.bytes = baos.toByteArray()
+        ZipFile zipFile = new ZipFile(file.toFile())
+
+        then:
+        zipFile.size() == 3
+        zipFile.getInputStream(zipFile.getEntry("gradle/wrapper/gradle-wrapper.jar")).bytes == wrapperJar.bytes
+
+        cleanup:
+        zipFile?.close()
+        Files.deleteIfExists(file)
+    }
+
+    void "test static resources are only compressed once"() {
+        given:
+        URL wrapperJar = Thread.currentThread().contextClassLoader.getResource("gradle/wrapper/gradle-wrapper.jar")
+
+        expect:
+        PrecompressedEntryCache.instance.get(wrapperJar, true, CompressionPolicy.DEFAULT).is(PrecompressedEntryCache.instance.get(wrapperJar, true, CompressionPolicy.DEFAULT))
+    }
+
+    void "test entries deflated in parallel are written in order and identically"() {
+        given:
+        URL wrapperJar = Thread.currentThread().contextClassLoader.getResource("gradle/wrapper/gradle-wrapper.jar")
+        Random random = new Random(1)
+        List<byte[]> contents = (0..<20).collect { int i ->
+            byte[] bytes = new byte[1000 * (i + 1)]
+            random.nextBytes(bytes)
+            bytes
+        }
+        Closure<byte[]> archive = { boolean parallel ->
+            ByteArrayOutputStream baos = new ByteArrayOutputStream()
+            ZipOutputHandler handler = new ZipOutputHandler(baos, CompressionPolicy.DEFAULT, parallel, 1584000000000L)
+            contents.eachWithIndex { byte[] bytes, int i ->
+                handler.write("file" + i, new ByteArrayTemplate("file" + i, bytes))
+                if (i == 10) {
+                    handler.write("gradle/wrapper/gradle-wrapper.jar", new BinaryTemplate("gradle/wrapper/gradle-wrapper.jar", wrapperJar))
+                }
+            }
+            handler.close()
+            baos.toByteArray()
+        }
+
+        when:
+        byte[] sequential = archive(false)
+        byte[] parallel = archive(true)
+        List<String> names = []
+        new ZipInputStream(new ByteArrayInputStream(parallel)).withCloseable { zip ->
+            ZipEntry entry
+            while ((entry = zip.nextEntry) != null) {
+                names << entry.name
+            }
+        }
+
+        then:
+        names == (0..10).collect { "file" + it } + ["gradle/wrapper/gradle-wrapper.jar"] + (11..<20).collect { "file" + it }
+        sequential == parallel
+    }
+
+    void "test binaries are stored and text is deflated at the policy level"() {
+        given:
+        URL wrapperJar = Thread.currentThread().contextClassLoader.getResource("gradle/wrapper/gradle-wrapper.jar")
+        byte[] text = ("micronaut\n" * 1000).bytes
+        Closure<Map<String, ZipEntry>> archive = { CompressionPolicy policy ->
+            Path file = Files.createTempFile("archive", ".zip")
+            ZipOutputHandler handler = new ZipOutputHandler(Files.newOutputStream(file), policy, false)
+            handler.write("gradle/wrapper/gradle-wrapper.jar", new BinaryTemplate("gradle/wrapper/gradle-wrapper.jar", wrapperJar))
+            handler.write("binary.bin", new ByteArrayTemplate("binary.bin", text, false, true))
+            handler.write("text.txt", new ByteArrayTemplate("text.txt", text))
+            handler.close()
+            Map<String, ZipEntry> entries = [:]
+            new ZipFile(file.toFile()).withCloseable { zip ->
+                zip.entries().each { ZipEntry entry ->
+                    assert zip.getInputStream(entry).bytes == (entry.name.endsWith(".jar") ? wrapperJar.bytes : text)
+                    entries[entry.name] = entry
+                }
+            }
+            Files.delete(file)
+            entries
+        }
+
+        when:
+        Map<String, ZipEntry> stored = archive(CompressionPolicy.DEFAULT)
+        Map<String, ZipEntry> deflated = archive(new CompressionPolicy(9, false))
+
+        then:
+        stored["gradle/wrapper/gradle-wrapper.jar"].method == ZipEntry.STORED
+        stored["binary.bin"].method == ZipEntry.STORED
+        stored["binary.bin"].compressedSize == text.length
+        stored["text.txt"].method == ZipEntry.DEFLATED
+        deflated["gradle/wrapper/gradle-wrapper.jar"].method == ZipEntry.DEFLATED
+        deflated["binary.bin"].method == ZipEntry.DEFLATED
+        deflated["text.txt"].compressedSize < text.length
+
+        when:
+        new CompressionPolicy(10, true)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,103 @@
+package io.micronaut.starter.server
+
+import io.micronaut.context.BeanContext
+import io.micronaut.starter.generator.GenerationRequest
+import io.micronaut.starter.generator.ProjectGenerator
+import io.micronaut.starter.io.TarGzOutputHandler
+import io.micronaut.starter.io.ZipOutputHandler
+import spock.lang.Specification
+
+import java.util.zip.GZIPInputStream
+import java.util.zip.ZipEntry
+import java.util.zip.ZipInputStream
+
+class GenerationServerSpec extends Specification {
+
+    void "test create-app is streamed as a zip"() {
+        given:
+        BeanContext beanContext = BeanContext.run()
+        GenerationServer server = new GenerationServer(0, 2, { project, parameters, outputStream ->
+            beanContext.getBean(ProjectGenerator).generate(new GenerationRequest(project, null, null, null, []), new ZipOutputHandler(outputStream))
+        } as ArchiveGenerator)
+        server.start()
+
+        when:
+        URL url = new URL("http://localhost:${server.port}/create/app/example.micronaut.foo")
+        List<String> entries = []
+        new ZipInputStream(url.openStream()).withCloseable { zip ->
+            ZipEntry entry
+            while ((entry = zip.nextEntry) != null) {
+                entries << entry.name
+            }
+        }
+
+        then:
+        entries.contains("build.gradle")
+        entries.contains("src/main/java/example/micronaut/Application.java")
+
+        cleanup:
+        server.stop()
+        beanContext.close()
+    }
+
+    void "test create-app is streamed as a tar.gz when requested"() {
+        given:
+        BeanContext beanContext = BeanContext.run()
+        GenerationServer server = new GenerationServer(0, 2, { project, parameters, outputStream ->
+            beanContext.getBean(ProjectGenerator).generate(new GenerationRequest(project, null, null, null, []), new TarGzOutputHandler(outputStream, 6, true))
+        } as ArchiveGenerator)
+        server.start()
+
+        when:
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:${server.port}/create/app/example.micronaut.foo?format=tgz").openConnection()
+        byte[] tar = new GZIPInputStream(connection.inputStream).bytes
+
+        then:
+        connection.getHeaderField("Content-Type") == "application/gzip"
+        connection.getHeaderField("Content-Disposition") == 'attachment; filename="foo.tar.gz"'
+        new String(tar, "ISO-8859-1").contains("build.gradle")
+
+        when:
+        connection = (HttpURLConnection) new URL("http://localhost:${server.port}/create/app/foo?format=rar").openConnection()
+
+        then:
+        connection.responseCode == 400
+        connection.errorStream.text == "Unsupported archive format: rar"
+
+        cleanup:
+        server.stop()
+        beanContext.close()
+    }
+
+    void "test validation errors are reported as bad request"() {
+        given:
+        GenerationServer server = new GenerationServer(0, 1, { project, parameters, outputStream ->
+            throw new IllegalArgumentException("The requested feature does not exist: " + parameters.features)
+        } as ArchiveGenerator)
+        server.start()
+
+        when:
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:${server.port}/create/app/foo?features=xyz").openConnection()
+
+        then:
+        connection.responseCode == 400
+        connection.errorStream.text == "The requested feature does not exist: xyz"
+
+        cleanup:
+        server.stop()
+    }
+
+    void "test registered metrics are reported"() {
+        given:
+        GenerationServer server = new GenerationServer(0, 1, { project, parameters, outputStream -> } as ArchiveGenerator)
+        server.addMetric("b.metric", { 2L })
+        server.addMetric("a.metric", { 1L })
+        server.start()
+
+        expect:
+        new URL("http://localhost:${server.port}/metrics").text == "a.metric 1\nb.metric 2\n"
+
+        cleanup:
+        server.stop()
+    }
+}
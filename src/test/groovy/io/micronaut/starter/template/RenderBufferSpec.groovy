@@ -0,0 +1,66 @@
+package io.micronaut.starter.template
+
+import io.micronaut.starter.feature.logging.template.logback
+import spock.lang.Specification
+
+class RenderBufferSpec extends Specification {
+
+    void "test a rocker template is written with a single write"() {
+        given:
+        List<Integer> writes = []
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+        OutputStream outputStream = new OutputStream() {
+            void write(int b) {
+                writes << 1
+                bytes.write(b)
+            }
+
+            void write(byte[] b, int off, int len) {
+                writes << len
+                bytes.write(b, off, len)
+            }
+        }
+
+        when:
+        new RockerTemplate("logback.xml", logback.template(true)).write(outputStream)
+
+        then:
+        writes.size() == 1
+        writes[0] == bytes.size()
+        new String(bytes.toByteArray(), "UTF-8").contains("<withJansi>true</withJansi>")
+    }
+
+    void "test the buffer is reused across renders on the same thread"() {
+        given:
+        Closure<Template> template = { new RockerTemplate("logback.xml", logback.template(false)) }
+        RenderBuffer.render(template())
+        long allocated = RenderBuffer.allocatedBytes
+        long rendered = RenderBuffer.renderedBytes
+
+        when:
+        byte[] first = RenderBuffer.render(template())
+        byte[] second = RenderBuffer.render(template())
+
+        then:
+        first == second
+        !first.is(second)
+        RenderBuffer.allocatedBytes == allocated
+        RenderBuffer.renderedBytes == rendered + first.length * 2
+    }
+
+    void "test a render can start while another is in progress"() {
+        given:
+        Template inner = new ByteArrayTemplate("inner", "inner".bytes)
+        Template outer = new Template() {
+            String path = "outer"
+
+            void write(OutputStream outputStream) {
+                outputStream.write("outer ".bytes)
+                outputStream.write(RenderBuffer.render(inner))
+            }
+        }
+
+        expect:
+        new String(RenderBuffer.render(outer), "UTF-8") == "outer inner"
+    }
+}
@@ -0,0 +1,53 @@
+package io.micronaut.starter.template
+
+import io.micronaut.starter.feature.build.gitignore
+import io.micronaut.starter.feature.logging.template.logback
+import spock.lang.Specification
+
+class RenderCacheSpec extends Specification {
+
+    void "test templates with a cache key are rendered once"() {
+        given:
+        RenderCache cache = new RenderCache(16)
+
+        when:
+        ByteArrayTemplate first = cache.render(new RockerTemplate("logback.xml", logback.template(true), false, [true]))
+        ByteArrayTemplate second = cache.render(new RockerTemplate("other/logback.xml", logback.template(true), false, [true]))
+        ByteArrayTemplate third = cache.render(new RockerTemplate("logback.xml", logback.template(false), false, [false]))
+
+        then:
+        first.bytes.is(second.bytes)
+        second.path == "other/logback.xml"
+        new String(first.bytes, "UTF-8").contains("<withJansi>true</withJansi>")
+        new String(third.bytes, "UTF-8").contains("<withJansi>false</withJansi>")
+        cache.hits == 1
+        cache.misses == 2
+    }
+
+    void "test templates without a cache key are always rendered"() {
+        given:
+        RenderCache cache = new RenderCache(16)
+
+        when:
+        cache.render(new RockerTemplate(".gitignore", gitignore.template()))
+        cache.render(new RockerTemplate(".gitignore", gitignore.template()))
+
+        then:
+        cache.size() == 0
+        cache.misses == 0
+    }
+
+    void "test the least recently used output is evicted"() {
+        given:
+        RenderCache cache = new RenderCache(1)
+
+        when:
+        cache.render(new RockerTemplate("logback.xml", logback.template(true), false, [true]))
+        cache.render(new RockerTemplate("logback.xml", logback.template(false), false, [false]))
+        cache.render(new RockerTemplate("logback.xml", logback.template(true), false, [true]))
+
+        then:
+        cache.size() == 1
+        cache.misses == 3
+    }
+}
@@ -0,0 +1,41 @@
+package io.micronaut.starter.template
+
+import spock.lang.Specification
+
+import java.nio.ReadOnlyBufferException
+
+class StaticResourceCacheSpec extends Specification {
+
+    void "test a resource is read once and then served from the cache"() {
+        given:
+        StaticResourceCache cache = new StaticResourceCache()
+        URL url = Thread.currentThread().contextClassLoader.getResource("gradle/gradlew")
+
+        when:
+        int writes = 0
+        ByteArrayOutputStream first = new ByteArrayOutputStream() {
+            @Override
+            void write(byte[] b, int off, int len) {
+                writes++
+                super.write(b, off, len)
+            }
+        }
+        ByteArrayOutputStream second = new ByteArrayOutputStream()
+        cache.write(url, first)
+        cache.write(url, second)
+
+        then:
+        first.toByteArray() == url.bytes
+        writes == 1
+        second.toByteArray() == url.bytes
+        cache.misses == 1
+        cache.hits == 1
+        cache.size() == 1
+
+        when:
+        cache.get(url).put((byte) 0)
+
+        then:
+        thrown(ReadOnlyBufferException)
+    }
+}
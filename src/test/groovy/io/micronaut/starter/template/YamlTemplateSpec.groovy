@@ -0,0 +1,71 @@
+package io.micronaut.starter.template
+
+import org.yaml.snakeyaml.DumperOptions
+import org.yaml.snakeyaml.Yaml
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class YamlTemplateSpec extends Specification {
+
+    void "test the configuration of a default application"() {
+        expect:
+        render(["micronaut.application.name": "foo", "datasources.default": [:]]) == """\
+micronaut:
+  application:
+    name: foo
+datasources:
+  default: {
+    }
+"""
+    }
+
+    @Unroll
+    void "test #config is written as SnakeYAML writes it"() {
+        expect:
+        render(config) == dump(config)
+
+        where:
+        config << [
+                ["micronaut.application.name": "foo-bar"],
+                ["micronaut.application.name": "foo", "datasources.default": [:], "micronaut.server.port": 8080],
+                ["a.b.c": "x", "a.b.d": 1, "a.e": true, "f": ["x", "y"], "g": null, "h.i": [], "h.j": [1, [:]], "k": 1.5d],
+                ["a": ["b": ["c": "d"]], "e.f": "g"],
+                ["on": "off", "quoted": ["", " a", "a ", "yes", "~", "123", "0x1F", ".5", "1e3", "2020-01-01", "1:20", "<<"]],
+                ["indicators": ["-x", "- x", "?x", "? x", ":x", "x:", "x:y", "x: y", "#x", "x #y", "x# y", "@x", "{x", "x,y", "a'b", "'a", "--- x", "...", "a\\b"]],
+                ["escaped": ["a\tb", "a\t\"b\\c"]]
+        ]
+    }
+
+    void "test output is UTF-8"() {
+        expect:
+        render(["name": "café 😀"]) == "name: café 😀\n"
+    }
+
+    void "test a key cannot have both a value and nested keys"() {
+        when:
+        new YamlTemplate("application.yml", ["a": "b", "a.c": "d"])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static String render(Map<String, Object> config) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream()
+        new YamlTemplate("application.yml", config).write(outputStream)
+        outputStream.toString("UTF-8")
+    }
+
+    private static String dump(Map<String, Object> config) {
+        Map<String, Object> nested = [:]
+        config.each { String key, Object value ->
+            Map<String, Object> map = nested
+            List<String> segments = key.tokenize('.')
+            segments.init().each { map = (Map<String, Object>) map.computeIfAbsent(it, { [:] }) }
+            map[segments.last()] = value
+        }
+        DumperOptions options = new DumperOptions()
+        options.defaultFlowStyle = DumperOptions.FlowStyle.BLOCK
+        options.prettyFlow = true
+        new Yaml(options).dump(nested)
+    }
+}